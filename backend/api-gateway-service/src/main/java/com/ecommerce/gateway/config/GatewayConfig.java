@@ -5,6 +5,7 @@ import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 
 /**
  * Configuration for API Gateway routes with JWT authentication.
@@ -25,6 +26,7 @@ public class GatewayConfig {
     /**
      * Configure routes with JWT authentication filter.
      * Public endpoints (auth, GET products/categories) don't require authentication.
+     * Token introspection is for internal services only and is answered with 404 instead of routed.
      *
      * @param builder the route locator builder
      * @return configured route locator
@@ -32,6 +34,11 @@ public class GatewayConfig {
     @Bean
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
         return builder.routes()
+                // Internal only, never exposed through the gateway
+                .route("customer-introspect", r -> r.order(-1).path("/api/v1/auth/introspect")
+                        .filters(f -> f.setStatus(HttpStatus.NOT_FOUND))
+                        .uri("no://op"))
+
                 // Apply JWT filter to all routes
                 .route("customer-auth", r -> r.path("/api/v1/auth/**")
                         .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
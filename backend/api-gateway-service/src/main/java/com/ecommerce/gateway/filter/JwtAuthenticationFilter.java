@@ -94,7 +94,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
      * @return true if public, false otherwise
      */
     private boolean isPublicEndpoint(String path) {
-        return path.startsWith("/api/v1/auth/") ||
+        return (path.startsWith("/api/v1/auth/") && !path.startsWith("/api/v1/auth/introspect")) ||
                (path.startsWith("/api/v1/products") && !path.contains("POST") && !path.contains("PUT") && !path.contains("DELETE")) ||
                (path.startsWith("/api/v1/categories") && !path.contains("POST") && !path.contains("PUT") && !path.contains("DELETE"));
     }
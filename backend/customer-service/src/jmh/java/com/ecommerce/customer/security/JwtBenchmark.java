@@ -0,0 +1,85 @@
+package com.ecommerce.customer.security;
+
+import com.ecommerce.customer.entity.Customer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of minting and verifying tokens with {@link JwtUtil}, in tokens per second.
+ * {@code verifyRebuildingKey} reproduces the former approach of building the key and parser and
+ * parsing the token once per extracted claim, as a baseline for {@code verify}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark compile exec:exec}; pass JMH options through
+ * {@code -Djmh.args="..."}.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class JwtBenchmark {
+
+    private static final String SECRET = "MySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256Algorithm";
+
+    private JwtUtil jwtUtil;
+    private Customer customer;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, 2_592_000_000L);
+        customer = Customer.builder()
+                .id(42L)
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("bench@example.com")
+                .role(Customer.Role.CUSTOMER)
+                .build();
+        refreshToken = jwtUtil.generateRefreshToken(customer);
+    }
+
+    @Benchmark
+    public String mint() {
+        return jwtUtil.generateToken(customer);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtil.verify(refreshToken);
+    }
+
+    @Benchmark
+    public boolean verifyRebuildingKey() {
+        String type = parse(refreshToken).get("type", String.class);
+        String email = parse(refreshToken).getSubject();
+        boolean valid = parse(refreshToken).getSubject().equals(email)
+                && parse(refreshToken).getExpiration().getTime() > System.currentTimeMillis();
+        return "refresh".equals(type) && valid;
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
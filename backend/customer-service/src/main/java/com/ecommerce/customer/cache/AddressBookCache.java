@@ -0,0 +1,67 @@
+package com.ecommerce.customer.cache;
+
+import com.ecommerce.customer.dto.AddressBook;
+import com.ecommerce.customer.event.AddressesChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of address books keyed by customer ID, so checkout can look up a customer's
+ * default address without a query per order.
+ * Entries are invalidated after the transaction that modified the customer's addresses commits.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class AddressBookCache {
+
+    private static final String CACHE_NAME = "addressBooks";
+
+    private final Cache<Long, AddressBook> cache;
+
+    public AddressBookCache(MeterRegistry meterRegistry,
+                            @Value("${customer.address-book-cache.maximum-size:50000}") long maximumSize,
+                            @Value("${customer.address-book-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get a customer's address book, loading it on a miss.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     *
+     * @param customerId the customer ID
+     * @param loader function loading the address book from the database
+     * @return address book
+     */
+    public AddressBook get(Long customerId, Function<Long, AddressBook> loader) {
+        return cache.get(customerId, loader);
+    }
+
+    /**
+     * Invalidate changed address books once the writing transaction has committed.
+     *
+     * @param event the addresses changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAddressesChanged(AddressesChangedEvent event) {
+        log.debug("Invalidating {} cached address books", event.getCustomerIds().size());
+        cache.invalidateAll(event.getCustomerIds());
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.customer.cache;
+
+import com.ecommerce.customer.dto.CustomerResponse;
+import com.ecommerce.customer.event.CustomersChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of customer profiles keyed by customer ID.
+ * Bounded by size with Caffeine; concurrent misses for the same customer share one load.
+ * Entries are invalidated after the transaction that modified the customer commits.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class CustomerProfileCache {
+
+    private static final String CACHE_NAME = "customerProfiles";
+
+    private final Cache<Long, CustomerResponse> cache;
+
+    public CustomerProfileCache(MeterRegistry meterRegistry,
+                                @Value("${customer.profile-cache.maximum-size:50000}") long maximumSize,
+                                @Value("${customer.profile-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get a profile, loading it on a miss.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     *
+     * @param id the customer ID
+     * @param loader function loading the profile from the database
+     * @return customer profile
+     */
+    public CustomerResponse get(Long id, Function<Long, CustomerResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Get several profiles, loading all misses with one call.
+     * Profiles the loader does not return are left out of the result.
+     *
+     * @param ids the customer IDs
+     * @param loader function loading the missing profiles from the database
+     * @return customer profiles by ID
+     */
+    public Map<Long, CustomerResponse> getAll(Collection<Long> ids,
+                                              Function<Set<Long>, Map<Long, CustomerResponse>> loader) {
+        return cache.getAll(ids, keys -> loader.apply(new LinkedHashSet<>(keys)));
+    }
+
+    /**
+     * Invalidate changed customers once the writing transaction has committed.
+     *
+     * @param event the customers changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomersChanged(CustomersChangedEvent event) {
+        log.debug("Invalidating {} cached customer profiles", event.getCustomerIds().size());
+        cache.invalidateAll(event.getCustomerIds());
+    }
+}
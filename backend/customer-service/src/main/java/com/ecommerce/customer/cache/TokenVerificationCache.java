@@ -0,0 +1,86 @@
+package com.ecommerce.customer.cache;
+
+import com.ecommerce.customer.security.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache of verified tokens keyed by the SHA-256 hash of the token, so repeated introspection of
+ * the same token skips signature verification and claims parsing. A cryptographic hash is used so
+ * that no other string can be crafted to hit a cached entry, and tokens are not kept in memory.
+ *
+ * <p>Each entry expires when its token does, or after the configured maximum time to live if that
+ * comes first. Only successfully verified tokens are cached.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+public class TokenVerificationCache {
+
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+
+    public TokenVerificationCache(MeterRegistry meterRegistry,
+                                  @Value("${customer.introspection.cache.maximum-size:100000}") long maximumSize,
+                                  @Value("${customer.introspection.cache.max-ttl:PT5M}") Duration maxTtl) {
+        long maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+                        long untilExpiration = (token.getExpiration().getTime() - System.currentTimeMillis()) * 1_000_000;
+                        return Math.max(0, Math.min(maxTtlNanos, untilExpiration));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the verified claims of a token, verifying it on a miss.
+     * Exceptions thrown by the verifier are propagated and nothing is cached.
+     *
+     * @param token the encoded token
+     * @param verifier function verifying the token
+     * @return verified claims
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        return cache.get(key(token), k -> verifier.apply(token));
+    }
+
+    private static ByteBuffer key(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -1,20 +1,22 @@
 package com.ecommerce.customer.config;
 
+import com.ecommerce.customer.security.IntrospectionClientFilter;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import io.swagger.v3.oas.annotations.servers.Server;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,7 +26,9 @@ import java.util.List;
 
 /**
  * Security configuration for Customer Service.
- * Configures JWT authentication, password encoding, and CORS.
+ * Configures JWT authentication and CORS. Passwords are hashed by
+ * {@link com.ecommerce.customer.security.PasswordHasher} on its own thread pool. Token introspection
+ * is not public: callers authenticate with client credentials through {@link IntrospectionClientFilter}.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -51,6 +55,12 @@ import java.util.List;
 )
 public class SecurityConfig {
 
+    @Value("${customer.introspection.client-id:internal-services}")
+    private String introspectionClientId;
+
+    @Value("${customer.introspection.client-secret:}")
+    private String introspectionClientSecret;
+
     /**
      * Configure HTTP security.
      * Disables CSRF for REST APIs and configures stateless session management.
@@ -64,7 +74,11 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .addFilterBefore(new IntrospectionClientFilter(introspectionClientId, introspectionClientSecret),
+                        UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.POST, IntrospectionClientFilter.PATH)
+                        .hasRole(IntrospectionClientFilter.ROLE)
                         .requestMatchers(
                                 "/api/v1/auth/**",
                                 "/actuator/**",
@@ -100,14 +114,4 @@ public class SecurityConfig {
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
-
-    /**
-     * Password encoder bean using BCrypt with 12 salt rounds.
-     *
-     * @return BCrypt password encoder
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
-    }
 }
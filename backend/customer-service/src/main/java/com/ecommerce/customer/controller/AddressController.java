@@ -1,8 +1,11 @@
 package com.ecommerce.customer.controller;
 
+import com.ecommerce.customer.dto.AddressBook;
 import com.ecommerce.customer.dto.AddressRequest;
 import com.ecommerce.customer.dto.AddressResponse;
+import com.ecommerce.customer.dto.PostalSuggestion;
 import com.ecommerce.customer.service.AddressService;
+import com.ecommerce.customer.service.PostalCodeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +18,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST controller for address operations.
  * Handles customer address management.
@@ -29,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
 public class AddressController {
 
     private final AddressService addressService;
+    private final PostalCodeService postalCodeService;
 
     /**
      * Get all addresses for a customer.
@@ -49,6 +55,30 @@ public class AddressController {
         return ResponseEntity.ok(addresses);
     }
 
+    /**
+     * Get all addresses of a customer together with the default one.
+     *
+     * @param customerId the customer ID
+     * @return address book
+     */
+    @GetMapping("/api/v1/customers/{customerId}/address-book")
+    @Operation(summary = "Get address book", description = "Get all addresses of a customer and the default address ID, served from cache")
+    public ResponseEntity<AddressBook> getAddressBook(@PathVariable Long customerId) {
+        return ResponseEntity.ok(addressService.getAddressBook(customerId));
+    }
+
+    /**
+     * Get the default address of a customer.
+     *
+     * @param customerId the customer ID
+     * @return the default address
+     */
+    @GetMapping("/api/v1/customers/{customerId}/addresses/default")
+    @Operation(summary = "Get default address", description = "Get the default address of a customer, for example at checkout, served from cache")
+    public ResponseEntity<AddressResponse> getDefaultAddress(@PathVariable Long customerId) {
+        return ResponseEntity.ok(addressService.getDefaultAddress(customerId));
+    }
+
     /**
      * Create a new address for a customer.
      *
@@ -98,4 +128,38 @@ public class AddressController {
         addressService.deleteAddress(addressId, customerId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Suggest zip codes starting with a prefix.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @param prefix the zip code prefix
+     * @param limit maximum number of suggestions (default: 10)
+     * @return zip codes with their city and state
+     */
+    @GetMapping("/api/v1/addresses/autocomplete/zip-codes")
+    @Operation(summary = "Autocomplete zip codes", description = "Suggest zip codes of a country starting with a prefix, with their city and state")
+    public ResponseEntity<List<PostalSuggestion>> suggestZipCodes(
+            @RequestParam String country,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(postalCodeService.suggestZipCodes(country, prefix, limit));
+    }
+
+    /**
+     * Suggest cities starting with a prefix.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @param prefix the city name prefix
+     * @param limit maximum number of suggestions (default: 10)
+     * @return cities with their state
+     */
+    @GetMapping("/api/v1/addresses/autocomplete/cities")
+    @Operation(summary = "Autocomplete cities", description = "Suggest cities of a country starting with a prefix, ignoring case, with their state")
+    public ResponseEntity<List<PostalSuggestion>> suggestCities(
+            @RequestParam String country,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(postalCodeService.suggestCities(country, prefix, limit));
+    }
 }
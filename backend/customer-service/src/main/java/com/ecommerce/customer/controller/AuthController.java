@@ -1,12 +1,16 @@
 package com.ecommerce.customer.controller;
 
 import com.ecommerce.customer.dto.AuthResponse;
+import com.ecommerce.customer.dto.IntrospectionRequest;
+import com.ecommerce.customer.dto.IntrospectionResponse;
 import com.ecommerce.customer.dto.LoginRequest;
 import com.ecommerce.customer.dto.RefreshTokenRequest;
 import com.ecommerce.customer.dto.RegisterRequest;
 import com.ecommerce.customer.service.AuthService;
+import com.ecommerce.customer.service.TokenIntrospectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,7 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * REST controller for authentication endpoints.
- * Handles user registration, login, and token refresh.
+ * Handles user registration, login, token refresh, logout and token introspection.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -27,17 +31,19 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     /**
      * Register a new customer.
      *
      * @param request registration request
+     * @param httpRequest the HTTP request, for the client address
      * @return authentication response with tokens
      */
     @PostMapping("/register")
     @Operation(summary = "Register a new customer", description = "Creates a new customer account and returns JWT tokens")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        AuthResponse response = authService.register(request, httpRequest.getRemoteAddr());
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -45,12 +51,13 @@ public class AuthController {
      * Login with email and password.
      *
      * @param request login request
+     * @param httpRequest the HTTP request, for the client address
      * @return authentication response with tokens
      */
     @PostMapping("/login")
     @Operation(summary = "Login", description = "Authenticate with email and password, returns JWT tokens")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
@@ -66,4 +73,30 @@ public class AuthController {
         AuthResponse response = authService.refreshToken(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Logout by revoking a refresh token.
+     *
+     * @param request refresh token request
+     * @return no content
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke a refresh token so it can no longer be used")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Introspect an access or refresh token.
+     * Only for internal services authenticated with client credentials; not routed by the gateway.
+     *
+     * @param request introspection request
+     * @return the token's claims if it is active, otherwise only active=false
+     */
+    @PostMapping("/introspect")
+    @Operation(summary = "Introspect token", description = "Check whether a token is active and return its claims; requires HTTP Basic client credentials")
+    public ResponseEntity<IntrospectionResponse> introspect(@Valid @RequestBody IntrospectionRequest request) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(request.getToken()));
+    }
 }
@@ -1,7 +1,9 @@
 package com.ecommerce.customer.controller;
 
+import com.ecommerce.customer.dto.CustomerImportResult;
 import com.ecommerce.customer.dto.CustomerResponse;
 import com.ecommerce.customer.dto.UpdateCustomerRequest;
+import com.ecommerce.customer.service.CustomerImportService;
 import com.ecommerce.customer.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -11,6 +13,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * REST controller for customer profile operations.
  * Handles customer profile retrieval and updates.
@@ -26,6 +32,7 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
     /**
      * Get customer profile by ID.
@@ -40,6 +47,19 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the profiles of several customers in one call.
+     *
+     * @param ids the customer IDs
+     * @return customer responses for the IDs that exist
+     */
+    @GetMapping("/profiles")
+    @Operation(summary = "Get customer profiles", description = "Get the profiles of several customers by ID; unknown IDs are omitted")
+    public ResponseEntity<List<CustomerResponse>> getProfiles(@RequestParam List<Long> ids) {
+        List<CustomerResponse> response = customerService.getCustomersByIds(ids);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update customer profile.
      *
@@ -55,4 +75,19 @@ public class CustomerController {
         CustomerResponse response = customerService.updateCustomer(customerId, request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Bulk import customers from an NDJSON stream.
+     * Admin only operation.
+     *
+     * @param body the raw request body
+     * @return import result with throughput and per-row errors
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Bulk import customers", description = "Stream customers with their addresses from NDJSON and insert them in batches (Admin only)")
+    public ResponseEntity<CustomerImportResult> importCustomers(InputStream body) throws IOException {
+        CustomerImportResult result = customerImportService.importCustomers(body);
+        return ResponseEntity.ok(result);
+    }
 }
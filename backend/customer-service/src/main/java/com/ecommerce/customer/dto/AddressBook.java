@@ -0,0 +1,25 @@
+package com.ecommerce.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for all addresses of a customer together with the default one.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressBook {
+
+    private Long customerId;
+    private Long defaultAddressId;
+    private List<AddressResponse> addresses;
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk customer import.
+ * Summarises the outcome of the import and reports the rows that were rejected.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportResult {
+    private long totalRows;
+    private long importedCount;
+    private long failedCount;
+    private long addressCount;
+    private long passwordsHashed;
+    private long durationMs;
+    private long rowsPerSecond;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    /**
+     * Error reported for a single rejected input row.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String email;
+        private String message;
+    }
+}
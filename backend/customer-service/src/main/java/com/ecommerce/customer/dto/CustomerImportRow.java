@@ -0,0 +1,52 @@
+package com.ecommerce.customer.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for one customer in a bulk import.
+ * Carries either a plain-text password, which is hashed during the import, or an existing BCrypt
+ * hash migrated as is.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportRow {
+
+    @NotBlank(message = "First name is required")
+    @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(min = 2, max = 50, message = "Last name must be between 2 and 50 characters")
+    private String lastName;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 100, message = "Email must not exceed 100 characters")
+    private String email;
+
+    private String password;
+
+    private String passwordHash;
+
+    @Size(max = 20, message = "Phone number must not exceed 20 characters")
+    private String phone;
+
+    @Valid
+    @Builder.Default
+    private List<AddressRequest> addresses = new ArrayList<>();
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.customer.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for token introspection request.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectionRequest {
+
+    @NotBlank(message = "Token is required")
+    private String token;
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for token introspection response, modelled on RFC 7662.
+ * An inactive token carries no claims.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    private boolean active;
+    private String sub;
+    private Long userId;
+    private String role;
+    private String tokenType;
+    private String jti;
+    private Long iat;
+    private Long exp;
+
+    /**
+     * Response for a token that is invalid, expired or revoked.
+     *
+     * @return inactive response
+     */
+    public static IntrospectionResponse inactive() {
+        return IntrospectionResponse.builder().active(false).build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a place served by a postal code, used for address validation and autocomplete.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostalSuggestion {
+
+    private String postalCode;
+    private String city;
+    private String stateCode;
+    private String stateName;
+}
@@ -16,13 +16,16 @@ import java.time.LocalDateTime;
 /**
  * Entity representing a customer address.
  * Customers can have multiple addresses for shipping purposes.
+ * At most one address per customer is the default, which the database enforces with a unique index
+ * on a generated column holding the customer ID of default addresses only.
  *
  * @author E-Commerce Team
  * @version 1.0
  */
 @Entity
 @Table(name = "addresses", indexes = {
-        @Index(name = "idx_customer_id", columnList = "customer_id")
+        @Index(name = "idx_customer_id", columnList = "customer_id"),
+        @Index(name = "uk_address_default_customer", columnList = "default_customer_id", unique = true)
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -68,6 +71,10 @@ public class Address {
     @Column(name = "is_default", nullable = false)
     private Boolean isDefault = false;
 
+    @Column(name = "default_customer_id", insertable = false, updatable = false,
+            columnDefinition = "BIGINT GENERATED ALWAYS AS (CASE WHEN is_default THEN customer_id END) STORED")
+    private Long defaultCustomerId;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,21 @@
+package com.ecommerce.customer.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Application event published when addresses of one or more customers have been created, modified
+ * or deleted.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AddressesChangedEvent {
+    private final Collection<Long> customerIds;
+}
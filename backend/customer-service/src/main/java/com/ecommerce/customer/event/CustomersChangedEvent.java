@@ -0,0 +1,20 @@
+package com.ecommerce.customer.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Application event published when one or more customer profiles have been modified.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CustomersChangedEvent {
+    private final Collection<Long> customerIds;
+}
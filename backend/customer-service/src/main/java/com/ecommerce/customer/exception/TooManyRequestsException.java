@@ -0,0 +1,37 @@
+package com.ecommerce.customer.exception;
+
+/**
+ * Exception thrown when a request is rejected because the service is saturated or the client is
+ * rate limited. The client may retry after the given delay.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new TooManyRequestsException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public TooManyRequestsException(String message) {
+        this(message, 1);
+    }
+
+    /**
+     * Constructs a new TooManyRequestsException with the specified detail message and retry delay.
+     *
+     * @param message the detail message
+     * @param retryAfterSeconds seconds the client should wait before retrying
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
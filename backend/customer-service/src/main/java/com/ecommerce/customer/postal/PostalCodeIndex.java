@@ -0,0 +1,432 @@
+package com.ecommerce.customer.postal;
+
+import com.ecommerce.customer.dto.PostalSuggestion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory index of postal codes with their place names and states.
+ * Keys are stored as UTF-8 bytes packed into a single array with an offset table, sorted so that
+ * exact lookups and prefix scans are binary searches; places and states are referenced by int IDs
+ * into de-duplicated name pools. A few million rows take tens of megabytes and no per-row objects.
+ *
+ * <p>Two sorted key sets are kept: {@code COUNTRY|POSTAL CODE} for validation and postal code
+ * completion, and {@code COUNTRY|lower-cased place|state} for place completion.</p>
+ *
+ * <p>Countries may be given as ISO 3166-1 alpha-2 or alpha-3 codes or by English name, ignoring case
+ * and dots; they are resolved to the alpha-2 code the index is keyed by.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class PostalCodeIndex {
+
+    private static final byte SEPARATOR = '|';
+
+    /** Alpha-2 codes by upper-cased alpha-2 code, alpha-3 code, English name and common alias. */
+    private static final Map<String, String> COUNTRY_CODES = countryCodes();
+
+    private final String[] places;
+    private final String[] stateCodes;
+    private final String[] stateNames;
+    private final Set<String> countries;
+
+    private final byte[] codeKeys;
+    private final int[] codeOffsets;
+    private final int[] codePlaces;
+    private final int[] codeStates;
+
+    private final byte[] placeKeys;
+    private final int[] placeOffsets;
+    private final int[] placePlaces;
+    private final int[] placeStates;
+
+    private PostalCodeIndex(String[] places, String[] stateCodes, String[] stateNames, Set<String> countries,
+                            byte[] codeKeys, int[] codeOffsets, int[] codePlaces, int[] codeStates,
+                            byte[] placeKeys, int[] placeOffsets, int[] placePlaces, int[] placeStates) {
+        this.places = places;
+        this.stateCodes = stateCodes;
+        this.stateNames = stateNames;
+        this.countries = countries;
+        this.codeKeys = codeKeys;
+        this.codeOffsets = codeOffsets;
+        this.codePlaces = codePlaces;
+        this.codeStates = codeStates;
+        this.placeKeys = placeKeys;
+        this.placeOffsets = placeOffsets;
+        this.placePlaces = placePlaces;
+        this.placeStates = placeStates;
+    }
+
+    /**
+     * An index without entries; every country is unknown to it.
+     *
+     * @return empty index
+     */
+    public static PostalCodeIndex empty() {
+        return new PostalCodeIndex(new String[0], new String[0], new String[0], Set.of(),
+                new byte[0], new int[]{0}, new int[0], new int[0], new byte[0], new int[]{0}, new int[0], new int[0]);
+    }
+
+    /**
+     * Build an index from tab-separated rows in the GeoNames postal code format: country code,
+     * postal code, place name, state name, state code, followed by columns that are ignored.
+     *
+     * @param reader the rows
+     * @return the index
+     * @throws IOException if reading fails
+     */
+    public static PostalCodeIndex load(BufferedReader reader) throws IOException {
+        Pool placePool = new Pool();
+        Pool statePool = new Pool();
+        List<String> stateCodeList = new ArrayList<>();
+        List<String> stateNameList = new ArrayList<>();
+        Set<String> countries = new HashSet<>();
+        List<Row> rows = new ArrayList<>();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] columns = line.split("\t", 6);
+            if (columns.length < 5 || columns[1].isBlank() || columns[2].isBlank()) {
+                continue;
+            }
+            String country = normalizeCountry(columns[0]);
+            String stateName = columns[3].trim();
+            String stateCode = columns[4].trim();
+            int state = statePool.id(stateCode + "\t" + stateName);
+            if (state == stateCodeList.size()) {
+                stateCodeList.add(stateCode);
+                stateNameList.add(stateName);
+            }
+            countries.add(country);
+            rows.add(new Row(country, normalizeCode(columns[1]), placePool.id(columns[2].trim()), state));
+        }
+
+        String[] places = placePool.names();
+        PackedKeys codes = PackedKeys.build(rows, row -> row.country + "|" + row.code);
+        PackedKeys placeIndex = PackedKeys.build(distinctPlaces(rows),
+                row -> row.country + "|" + places[row.place].toLowerCase(Locale.ROOT) + "|" + row.state);
+
+        return new PostalCodeIndex(places, stateCodeList.toArray(new String[0]), stateNameList.toArray(new String[0]),
+                Set.copyOf(countries),
+                codes.keys, codes.offsets, codes.placeIds(), codes.stateIds(),
+                placeIndex.keys, placeIndex.offsets, placeIndex.placeIds(), placeIndex.stateIds());
+    }
+
+    /**
+     * Resolve a country to its ISO 3166-1 alpha-2 code.
+     *
+     * @param country alpha-2 or alpha-3 code or English name
+     * @return the alpha-2 code, or null if the country is not recognized
+     */
+    public static String countryCode(String country) {
+        return country == null ? null : COUNTRY_CODES.get(countryKey(country));
+    }
+
+    /**
+     * Whether the index has any postal codes for a country.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @return true if addresses in the country can be checked
+     */
+    public boolean covers(String country) {
+        return country != null && countries.contains(normalizeCountry(country));
+    }
+
+    /**
+     * All places a postal code belongs to.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @param postalCode the postal code
+     * @return matching places, empty if the postal code is unknown
+     */
+    public List<PostalSuggestion> lookup(String country, String postalCode) {
+        byte[] key = bytes(normalizeCountry(country) + "|" + normalizeCode(postalCode));
+        List<PostalSuggestion> result = new ArrayList<>();
+        for (int i = lowerBound(codeKeys, codeOffsets, key); i < size(codeOffsets)
+                && compare(codeKeys, codeOffsets, i, key, false) == 0; i++) {
+            result.add(codePlace(i));
+        }
+        return result;
+    }
+
+    /**
+     * Postal codes starting with a prefix, in order.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @param prefix the postal code prefix
+     * @param limit maximum number of results
+     * @return matching postal codes with their places
+     */
+    public List<PostalSuggestion> completePostalCode(String country, String prefix, int limit) {
+        byte[] key = bytes(normalizeCountry(country) + "|" + normalizeCode(prefix));
+        List<PostalSuggestion> result = new ArrayList<>();
+        for (int i = lowerBound(codeKeys, codeOffsets, key); i < size(codeOffsets) && result.size() < limit
+                && compare(codeKeys, codeOffsets, i, key, true) == 0; i++) {
+            result.add(codePlace(i));
+        }
+        return result;
+    }
+
+    /**
+     * Places whose name starts with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @param prefix the place name prefix
+     * @param limit maximum number of results
+     * @return matching places with their states, without postal codes
+     */
+    public List<PostalSuggestion> completePlace(String country, String prefix, int limit) {
+        byte[] key = bytes(normalizeCountry(country) + "|" + prefix.trim().toLowerCase(Locale.ROOT));
+        List<PostalSuggestion> result = new ArrayList<>();
+        for (int i = lowerBound(placeKeys, placeOffsets, key); i < size(placeOffsets) && result.size() < limit
+                && compare(placeKeys, placeOffsets, i, key, true) == 0; i++) {
+            int state = placeStates[i];
+            result.add(suggestion(null, places[placePlaces[i]], state));
+        }
+        return result;
+    }
+
+    /**
+     * Number of postal code entries.
+     *
+     * @return entries
+     */
+    public int size() {
+        return size(codeOffsets);
+    }
+
+    /**
+     * Approximate heap memory taken by the index.
+     *
+     * @return bytes
+     */
+    public long footprintBytes() {
+        long bytes = codeKeys.length + placeKeys.length
+                + 4L * (codeOffsets.length + codePlaces.length + codeStates.length)
+                + 4L * (placeOffsets.length + placePlaces.length + placeStates.length);
+        for (String[] pool : List.of(places, stateCodes, stateNames)) {
+            bytes += 16 + 4L * pool.length;
+            for (String name : pool) {
+                bytes += 40 + name.length();
+            }
+        }
+        return bytes;
+    }
+
+    private PostalSuggestion codePlace(int i) {
+        int start = codeOffsets[i];
+        int end = codeOffsets[i + 1];
+        int separator = start;
+        while (codeKeys[separator] != SEPARATOR) {
+            separator++;
+        }
+        String code = new String(codeKeys, separator + 1, end - separator - 1, StandardCharsets.UTF_8);
+        int state = codeStates[i];
+        return suggestion(code, places[codePlaces[i]], state);
+    }
+
+    private PostalSuggestion suggestion(String code, String place, int state) {
+        return PostalSuggestion.builder()
+                .postalCode(code)
+                .city(place)
+                .stateCode(stateCodes[state].isEmpty() ? null : stateCodes[state])
+                .stateName(stateNames[state].isEmpty() ? null : stateNames[state])
+                .build();
+    }
+
+    private static int size(int[] offsets) {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Index of the first key not less than the probe.
+     */
+    private static int lowerBound(byte[] keys, int[] offsets, byte[] probe) {
+        int low = 0;
+        int high = size(offsets);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keys, offsets, mid, probe, false) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compare key i with the probe as unsigned bytes; with prefix set, a key starting with the probe
+     * compares equal.
+     */
+    private static int compare(byte[] keys, int[] offsets, int i, byte[] probe, boolean prefix) {
+        int start = offsets[i];
+        int length = offsets[i + 1] - start;
+        int common = Math.min(length, probe.length);
+        for (int j = 0; j < common; j++) {
+            int diff = (keys[start + j] & 0xff) - (probe[j] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        if (prefix && length >= probe.length) {
+            return 0;
+        }
+        return length - probe.length;
+    }
+
+    private static List<Row> distinctPlaces(List<Row> rows) {
+        Map<Long, Row> distinct = new HashMap<>();
+        for (Row row : rows) {
+            distinct.putIfAbsent(((long) row.place << 32) | row.state, row);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    private static String normalizeCountry(String country) {
+        String code = countryCode(country);
+        return code != null ? code : country.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String countryKey(String country) {
+        return country.replace(".", "").trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    private static Map<String, String> countryCodes() {
+        Map<String, String> codes = new HashMap<>();
+        for (String code : Locale.getISOCountries()) {
+            Locale locale = new Locale("", code);
+            codes.put(code, code);
+            codes.put(locale.getISO3Country(), code);
+            codes.put(countryKey(locale.getDisplayCountry(Locale.ENGLISH)), code);
+        }
+        codes.put("UNITED STATES OF AMERICA", "US");
+        codes.put("UK", "GB");
+        codes.put("GREAT BRITAIN", "GB");
+        return codes;
+    }
+
+    private static String normalizeCode(String code) {
+        String trimmed = code.trim().toUpperCase(Locale.ROOT);
+        StringBuilder normalized = null;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            boolean space = Character.isWhitespace(c);
+            if (space && normalized == null) {
+                normalized = new StringBuilder(trimmed.length()).append(trimmed, 0, i);
+            }
+            if (normalized != null && !(space && Character.isWhitespace(trimmed.charAt(i - 1)))) {
+                normalized.append(space ? ' ' : c);
+            }
+        }
+        return normalized == null ? trimmed : normalized.toString();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A parsed input row.
+     */
+    private static final class Row {
+        private final String country;
+        private final String code;
+        private final int place;
+        private final int state;
+
+        private Row(String country, String code, int place, int state) {
+            this.country = country;
+            this.code = code;
+            this.place = place;
+            this.state = state;
+        }
+    }
+
+    /**
+     * De-duplicating pool assigning consecutive IDs to names.
+     */
+    private static final class Pool {
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        private int id(String name) {
+            return ids.computeIfAbsent(name, n -> ids.size());
+        }
+
+        private String[] names() {
+            String[] names = new String[ids.size()];
+            ids.forEach((name, id) -> names[id] = name);
+            return names;
+        }
+    }
+
+    /**
+     * Sorted keys packed into one byte array, remembering which row each key came from.
+     */
+    private static final class PackedKeys {
+        private final byte[] keys;
+        private final int[] offsets;
+        private final Row[] rows;
+
+        private PackedKeys(byte[] keys, int[] offsets, Row[] rows) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.rows = rows;
+        }
+
+        private static PackedKeys build(List<Row> rows, Function<Row, String> keyOf) {
+            byte[][] encoded = new byte[rows.size()][];
+            Integer[] order = new Integer[rows.size()];
+            int total = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                encoded[i] = bytes(keyOf.apply(rows.get(i)));
+                order[i] = i;
+                total += encoded[i].length;
+            }
+            Arrays.sort(order, Comparator.comparing((Integer i) -> encoded[i], Arrays::compareUnsigned));
+
+            byte[] keys = new byte[total];
+            int[] offsets = new int[rows.size() + 1];
+            Row[] sortedRows = new Row[rows.size()];
+            int position = 0;
+            for (int i = 0; i < order.length; i++) {
+                byte[] key = encoded[order[i]];
+                System.arraycopy(key, 0, keys, position, key.length);
+                offsets[i] = position;
+                position += key.length;
+                sortedRows[i] = rows.get(order[i]);
+            }
+            offsets[rows.size()] = position;
+            return new PackedKeys(keys, offsets, sortedRows);
+        }
+
+        private int[] placeIds() {
+            int[] ids = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                ids[i] = rows[i].place;
+            }
+            return ids;
+        }
+
+        private int[] stateIds() {
+            int[] ids = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                ids[i] = rows[i].state;
+            }
+            return ids;
+        }
+    }
+}
@@ -4,8 +4,12 @@ import com.ecommerce.customer.entity.Address;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,4 +47,38 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      * @return an Optional containing the default address if exists
      */
     Optional<Address> findByCustomerIdAndIsDefaultTrue(Long customerId);
+
+    /**
+     * Find all addresses for a customer, oldest first.
+     *
+     * @param customerId the customer ID
+     * @return the addresses
+     */
+    List<Address> findByCustomerIdOrderByIdAsc(Long customerId);
+
+    /**
+     * Clear the default flag on all of a customer's addresses except one.
+     * Must run before {@link #markDefault(Long, Long)}, since the unique index on default addresses is
+     * checked row by row. Callers must hold the customer's row lock so concurrent switches are serialized.
+     *
+     * @param customerId the customer ID
+     * @param addressId the address to leave untouched
+     * @return number of updated rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = false " +
+           "WHERE a.customerId = :customerId AND a.isDefault = true AND a.id <> :addressId")
+    int clearDefaultExcept(@Param("customerId") Long customerId, @Param("addressId") Long addressId);
+
+    /**
+     * Make an address its customer's default.
+     *
+     * @param customerId the customer ID
+     * @param addressId the new default address ID
+     * @return number of updated rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = true " +
+           "WHERE a.customerId = :customerId AND a.id = :addressId AND a.isDefault = false")
+    int markDefault(@Param("customerId") Long customerId, @Param("addressId") Long addressId);
 }
@@ -1,10 +1,20 @@
 package com.ecommerce.customer.repository;
 
 import com.ecommerce.customer.entity.Customer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Customer entity.
@@ -16,6 +26,13 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    /**
+     * Fetch size that makes MySQL Connector/J stream a result row by row instead of buffering it.
+     * Set per query, so other queries keep plain client-side result sets. No other statement may run
+     * on the connection until the stream is closed.
+     */
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
     /**
      * Find a customer by email address.
      *
@@ -31,4 +48,39 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * @return true if a customer with this email exists
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Lock a customer row for the rest of the transaction.
+     * Serializes changes that must see a consistent set of the customer's rows, such as switching the
+     * default address.
+     *
+     * @param id the customer ID
+     * @return an Optional containing the ID if the customer exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Customer c WHERE c.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Stream the email addresses of all customers.
+     * Must be called inside a transaction and the stream closed after use.
+     *
+     * @return stream of email addresses
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query("SELECT c.email FROM Customer c")
+    Stream<String> streamAllEmails();
+
+    /**
+     * Replace a customer's password hash, unless the password was changed concurrently.
+     *
+     * @param id the customer ID
+     * @param currentHash the hash the new one replaces
+     * @param newHash the new hash
+     * @return number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Customer c SET c.password = :newHash WHERE c.id = :id AND c.password = :currentHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("currentHash") String currentHash, @Param("newHash") String newHash);
 }
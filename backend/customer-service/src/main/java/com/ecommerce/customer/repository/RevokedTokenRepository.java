@@ -0,0 +1,66 @@
+package com.ecommerce.customer.repository;
+
+import com.ecommerce.customer.entity.RevokedToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for RevokedToken entity.
+ * Provides database operations for the refresh token deny list.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Check if a token ID has been revoked.
+     *
+     * @param jti the JWT ID
+     * @return true if the token is revoked
+     */
+    boolean existsByJti(String jti);
+
+    /**
+     * Stream the IDs of all revoked tokens that have not expired yet.
+     * Must be called inside a transaction and the stream closed after use.
+     *
+     * @param now the current time
+     * @return stream of JWT IDs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CustomerRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+    Stream<String> streamActiveJtis(@Param("now") LocalDateTime now);
+
+    /**
+     * Find the IDs of tokens revoked since a point in time.
+     *
+     * @param since lower bound of the revocation time, inclusive
+     * @return JWT IDs
+     */
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.revokedAt >= :since")
+    List<String> findJtisRevokedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Delete revocations of tokens that have expired.
+     *
+     * @param now the current time
+     * @return number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
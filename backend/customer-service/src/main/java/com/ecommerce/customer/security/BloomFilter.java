@@ -0,0 +1,85 @@
+package com.ecommerce.customer.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings.
+ * Answers "definitely absent" or "possibly present"; sized for an expected number of insertions and
+ * a target false-positive rate. Entries cannot be removed, so the filter is rebuilt to drop them.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Create an empty filter.
+     *
+     * @param expectedInsertions number of entries the filter is sized for
+     * @param falsePositiveRate false-positive rate at the expected number of entries
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Add an entry.
+     *
+     * @param value the entry
+     */
+    public void put(String value) {
+        long h1 = hash(value, 0);
+        long h2 = hash(value, 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            while (((word = bits.get(index)) & mask) == 0 && !bits.compareAndSet(index, word, word | mask)) {
+                // Retry until the bit is set by us or a concurrent writer
+            }
+        }
+    }
+
+    /**
+     * Check whether an entry may have been added.
+     *
+     * @param value the entry
+     * @return false if the entry was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value, 0);
+        long h2 = hash(value, 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the MurmurHash3 mixer.
+     */
+    private static long hash(String value, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
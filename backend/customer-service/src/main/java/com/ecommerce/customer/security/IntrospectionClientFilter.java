@@ -0,0 +1,96 @@
+package com.ecommerce.customer.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Authenticates callers of the token introspection endpoint with HTTP Basic client credentials,
+ * as RFC 7662 section 2.1 requires, so the endpoint cannot be used to probe tokens anonymously.
+ * The credentials are compared in constant time. Without a configured secret every call is refused.
+ *
+ * <p>Created by the security configuration rather than registered as a bean, so it only runs inside
+ * the security filter chain.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Slf4j
+public class IntrospectionClientFilter extends OncePerRequestFilter {
+
+    /** Role granted to an authenticated introspection client. */
+    public static final String ROLE = "INTROSPECTION_CLIENT";
+
+    /** Path of the introspection endpoint. */
+    public static final String PATH = "/api/v1/auth/introspect";
+
+    private static final String BASIC = "Basic ";
+
+    private final String clientId;
+    private final byte[] expected;
+
+    /**
+     * Create the filter.
+     *
+     * @param clientId the client ID callers must present
+     * @param clientSecret the client secret callers must present, or blank to refuse every call
+     */
+    public IntrospectionClientFilter(String clientId, String clientSecret) {
+        this.clientId = clientId;
+        if (clientSecret == null || clientSecret.isBlank()) {
+            log.warn("No token introspection client secret configured, introspection requests will be refused");
+            this.expected = null;
+        } else {
+            this.expected = (clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!authenticated(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            log.warn("Rejected token introspection request without valid client credentials from {}",
+                    request.getRemoteAddr());
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"introspection\"");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Unauthorized\",\"message\":\"Client authentication required\"}");
+            return;
+        }
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                clientId, null, List.of(new SimpleGrantedAuthority("ROLE_" + ROLE))));
+        chain.doFilter(request, response);
+    }
+
+    private boolean authenticated(String header) {
+        if (expected == null || header == null || !header.startsWith(BASIC)) {
+            return false;
+        }
+        byte[] presented;
+        try {
+            presented = Base64.getDecoder().decode(header.substring(BASIC.length()).trim());
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, presented);
+    }
+}
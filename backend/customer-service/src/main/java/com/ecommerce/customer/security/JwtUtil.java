@@ -2,8 +2,9 @@ package com.ecommerce.customer.security;
 
 import com.ecommerce.customer.entity.Customer;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -13,11 +14,14 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * Utility class for JWT token operations.
- * Handles token generation, validation, and claims extraction using RS256 algorithm.
+ * Handles token generation, validation, and claims extraction using HS256 algorithm.
+ * The signing key and the parser are immutable and thread-safe, so both are built once.
+ * Callers needing several claims should {@link #verify(String)} the token once and use the result.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -25,14 +29,21 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256Algorithm}")
-    private String secret;
-
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long expiration;
-
-    @Value("${jwt.refresh.expiration:2592000000}") // 30 days in milliseconds
-    private Long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long expiration;
+    private final Long refreshExpiration;
+
+    public JwtUtil(@Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256Algorithm}") String secret,
+                   @Value("${jwt.expiration:86400000}") Long expiration, // 24 hours in milliseconds
+                   @Value("${jwt.refresh.expiration:2592000000}") Long refreshExpiration) { // 30 days in milliseconds
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+    }
 
     /**
      * Generate JWT access token for a customer.
@@ -50,12 +61,14 @@ public class JwtUtil {
 
     /**
      * Generate JWT refresh token for a customer.
+     * Each refresh token carries a random JWT ID so it can be revoked individually.
      *
      * @param customer the customer
      * @return the refresh token
      */
     public String generateRefreshToken(Customer customer) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put("jti", UUID.randomUUID().toString());
         claims.put("userId", customer.getId());
         claims.put("type", "refresh");
         return createToken(claims, customer.getEmail(), refreshExpiration);
@@ -74,22 +87,32 @@ public class JwtUtil {
         Date expiryDate = new Date(now.getTime() + expirationTime);
 
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     /**
-     * Get the signing key for JWT.
+     * Parse a token once, verifying its signature and expiration.
      *
-     * @return the secret key
+     * @param token the JWT token
+     * @return the verified claims
+     * @throws JwtException if the token is malformed, tampered with or expired
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return VerifiedToken.builder()
+                .id(claims.getId())
+                .subject(claims.getSubject())
+                .userId(claims.get("userId", Long.class))
+                .role(claims.get("role", String.class))
+                .type(claims.get("type", String.class))
+                .issuedAt(claims.getIssuedAt())
+                .expiration(claims.getExpiration())
+                .build();
     }
 
     /**
@@ -142,33 +165,23 @@ public class JwtUtil {
      * @return all claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * Check if token is expired.
-     *
-     * @param token the JWT token
-     * @return true if expired
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * Validate token.
+     * Parses the token once; expired tokens are rejected by the parser.
      *
      * @param token the JWT token
      * @param username the username to validate against
      * @return true if valid
      */
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        try {
+            return verify(token).getSubject().equals(username);
+        } catch (JwtException ex) {
+            return false;
+        }
     }
 
     /**
@@ -178,8 +191,7 @@ public class JwtUtil {
      * @return true if it's a refresh token
      */
     public Boolean isRefreshToken(String token) {
-        String type = extractClaim(token, claims -> claims.get("type", String.class));
-        return "refresh".equals(type);
+        return verify(token).isRefreshToken();
     }
 
     /**
@@ -0,0 +1,211 @@
+package com.ecommerce.customer.security;
+
+import com.ecommerce.customer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and verifies passwords with BCrypt on a dedicated, bounded thread pool.
+ * BCrypt is deliberately CPU-bound; running it on request threads lets a burst of logins occupy every
+ * core. The pool caps hashing at a fixed number of threads, and once its queue is full further
+ * requests are rejected with 429 instead of piling up, so the remaining requests keep their CPU.
+ *
+ * <p>The cost is configured, or calibrated at startup to the highest cost whose hash stays within a
+ * target latency on the current hardware. Stored hashes with a lower cost are reported by
+ * {@link #needsRehash(String)} so they can be replaced on the next successful login. Hashes with a
+ * higher cost are kept, so instances calibrated to different costs never downgrade each other's hashes.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[abxy]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final int MAX_COST = 16;
+
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejections;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${customer.password-hashing.cost:12}") int configuredCost,
+                          @Value("${customer.password-hashing.calibrate:false}") boolean calibrate,
+                          @Value("${customer.password-hashing.min-cost:10}") int minCost,
+                          @Value("${customer.password-hashing.target-latency:PT0.25S}") Duration targetLatency,
+                          @Value("${customer.password-hashing.threads:0}") int threads,
+                          @Value("${customer.password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${customer.password-hashing.timeout:PT5S}") Duration timeout) {
+        this.cost = calibrate ? calibrate(minCost, targetLatency) : configuredCost;
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.timeout = timeout;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.encodeTimer = Timer.builder("customer.password.hash")
+                .description("Time taken to hash a password, excluding queueing")
+                .tag("operation", "encode")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("customer.password.hash")
+                .description("Time taken to hash a password, excluding queueing")
+                .tag("operation", "match")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("customer.password.hash.rejected")
+                .description("Password hashing requests rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("customer.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("customer.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads currently busy")
+                .register(meterRegistry);
+        log.info("Password hashing with BCrypt cost {} on {} threads, queue capacity {}", cost, poolSize, queueCapacity);
+    }
+
+    /**
+     * Hash a password.
+     *
+     * @param rawPassword the plain-text password
+     * @return the BCrypt hash
+     * @throws TooManyRequestsException if the hashing pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Hash a password on the calling thread.
+     * For batch jobs that run the hashing on their own pool instead of the bounded request pool.
+     *
+     * @param rawPassword the plain-text password
+     * @return the BCrypt hash
+     */
+    public String encodeOnCaller(String rawPassword) {
+        return encodeTimer.record(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a password against a stored hash.
+     *
+     * @param rawPassword the plain-text password
+     * @param encodedPassword the stored hash
+     * @return true if the password matches
+     * @throws TooManyRequestsException if the hashing pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Whether a stored hash was made with a lower cost than the current one.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the hash should be replaced
+     */
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    /**
+     * Whether a value is a well-formed BCrypt hash.
+     *
+     * @param value the value to check
+     * @return true if the value can be stored as a password hash
+     */
+    public boolean isHash(String value) {
+        return value != null && BCRYPT_HASH.matcher(value).matches();
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejections.increment();
+            throw new TooManyRequestsException("Too many sign-in requests, please retry shortly");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejections.increment();
+            throw new TooManyRequestsException("Too many sign-in requests, please retry shortly");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Pick the highest cost whose hash takes at most the target latency, never below the minimum.
+     * Each cost step doubles the work, so the search stops at the first cost over the target.
+     */
+    private static int calibrate(int minCost, Duration targetLatency) {
+        new BCryptPasswordEncoder(minCost).encode("calibration");
+        int chosen = minCost;
+        for (int candidate = minCost; candidate <= MAX_COST; candidate++) {
+            BCryptPasswordEncoder candidateEncoder = new BCryptPasswordEncoder(candidate);
+            long started = System.nanoTime();
+            candidateEncoder.encode("calibration");
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            log.info("BCrypt cost {} takes {} ms", candidate, elapsed.toMillis());
+            if (elapsed.compareTo(targetLatency) > 0) {
+                break;
+            }
+            chosen = candidate;
+        }
+        log.info("Calibrated BCrypt cost {} for a target latency of {} ms", chosen, targetLatency.toMillis());
+        return chosen;
+    }
+}
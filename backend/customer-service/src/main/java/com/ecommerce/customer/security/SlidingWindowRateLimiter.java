@@ -0,0 +1,180 @@
+package com.ecommerce.customer.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory rate limiter counting attempts per key over a sliding window.
+ * The window is approximated from the counts of the current and the previous fixed window, weighted
+ * by how much of the previous window still overlaps, so each key needs a few fields rather than a
+ * timestamp per attempt.
+ *
+ * <p>A key that goes over the limit is blocked for a backoff that doubles with every further
+ * violation, up to a maximum, and is forgiven once it has been quiet for two windows.</p>
+ *
+ * <p>Keys are spread over independently locked shards. Each shard holds a bounded number of keys and
+ * evicts the least recently used one when full, so memory stays bounded however many keys are
+ * presented.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class SlidingWindowRateLimiter {
+
+    private final int limit;
+    private final long windowMillis;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Shard[] shards;
+
+    /**
+     * Create a limiter.
+     *
+     * @param limit attempts allowed per window
+     * @param window length of the sliding window
+     * @param baseBackoff block time after the first violation
+     * @param maxBackoff upper bound for the block time
+     * @param maxKeys keys tracked at most, over all shards
+     * @param shardCount number of shards, rounded up to a power of two
+     */
+    public SlidingWindowRateLimiter(int limit, Duration window, Duration baseBackoff, Duration maxBackoff,
+                                    int maxKeys, int shardCount) {
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        int count = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(Math.max(1, maxKeys / count));
+        }
+    }
+
+    /**
+     * Time a key is still blocked for, without counting an attempt.
+     *
+     * @param key the key
+     * @return remaining block time in milliseconds, or 0 if the key is not blocked
+     */
+    public long blockedFor(String key) {
+        long now = System.currentTimeMillis();
+        Shard shard = shard(key);
+        synchronized (shard) {
+            Window window = shard.get(key);
+            return window == null ? 0 : Math.max(0, window.blockedUntil - now);
+        }
+    }
+
+    /**
+     * Count an attempt for a key.
+     * The attempt is refused if the key is blocked or the attempt would go over the limit; going over
+     * the limit blocks the key.
+     *
+     * @param key the key
+     * @return 0 if the attempt is allowed, otherwise the time to wait in milliseconds
+     */
+    public long acquire(String key) {
+        long now = System.currentTimeMillis();
+        Shard shard = shard(key);
+        synchronized (shard) {
+            Window window = shard.computeIfAbsent(key, k -> new Window(now));
+            if (now < window.blockedUntil) {
+                return window.blockedUntil - now;
+            }
+            window.roll(now);
+            if (window.estimate(now) + 1 > limit) {
+                window.violations++;
+                long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(30, window.violations - 1));
+                window.blockedUntil = now + backoff;
+                return backoff;
+            }
+            window.current++;
+            return 0;
+        }
+    }
+
+    /**
+     * Forget a key, for example after a successful login.
+     *
+     * @param key the key
+     */
+    public void reset(String key) {
+        Shard shard = shard(key);
+        synchronized (shard) {
+            shard.remove(key);
+        }
+    }
+
+    /**
+     * Number of keys currently tracked.
+     *
+     * @return tracked keys
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    private Shard shard(String key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    /**
+     * Attempt counts of one key.
+     */
+    private final class Window {
+        private long start;
+        private int current;
+        private int previous;
+        private int violations;
+        private long blockedUntil;
+
+        private Window(long now) {
+            this.start = now;
+        }
+
+        private void roll(long now) {
+            long elapsed = now - start;
+            if (elapsed < windowMillis) {
+                return;
+            }
+            if (elapsed >= 2 * windowMillis) {
+                previous = 0;
+                violations = 0;
+            } else {
+                previous = current;
+            }
+            current = 0;
+            start = now - elapsed % windowMillis;
+        }
+
+        private double estimate(long now) {
+            double overlap = 1.0 - (double) (now - start) / windowMillis;
+            return previous * overlap + current;
+        }
+    }
+
+    /**
+     * Bounded LRU map of windows guarded by its own monitor.
+     */
+    private final class Shard extends LinkedHashMap<String, Window> {
+        private final int maxKeys;
+
+        private Shard(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > maxKeys;
+        }
+    }
+}
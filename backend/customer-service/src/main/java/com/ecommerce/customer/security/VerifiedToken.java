@@ -0,0 +1,37 @@
+package com.ecommerce.customer.security;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature and expiration have been verified.
+ * Produced by a single parse in {@link JwtUtil#verify(String)} and reused for every check on the token.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Getter
+@Builder
+@ToString
+public class VerifiedToken {
+
+    private final String id;
+    private final String subject;
+    private final Long userId;
+    private final String role;
+    private final String type;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    /**
+     * Check if this is a refresh token.
+     *
+     * @return true if it's a refresh token
+     */
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+}
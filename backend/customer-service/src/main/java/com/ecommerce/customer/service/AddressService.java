@@ -1,32 +1,63 @@
 package com.ecommerce.customer.service;
 
+import com.ecommerce.customer.cache.AddressBookCache;
+import com.ecommerce.customer.dto.AddressBook;
 import com.ecommerce.customer.dto.AddressRequest;
 import com.ecommerce.customer.dto.AddressResponse;
 import com.ecommerce.customer.entity.Address;
+import com.ecommerce.customer.event.AddressesChangedEvent;
+import com.ecommerce.customer.exception.InvalidOperationException;
 import com.ecommerce.customer.exception.ResourceNotFoundException;
 import com.ecommerce.customer.repository.AddressRepository;
 import com.ecommerce.customer.repository.CustomerRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 /**
  * Service class for address operations.
  * Handles customer address management.
+ * Switching the default address locks the customer row, so concurrent switches are serialized, and
+ * then clears the old default before setting the new one, since the database allows a customer only
+ * one default address.
+ * Address books are read through {@link AddressBookCache}, which is invalidated on every change. Only
+ * a cache miss opens a (read-only) transaction, so a hit does not borrow a database connection.
  *
  * @author E-Commerce Team
  * @version 1.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AddressService {
 
     private final AddressRepository addressRepository;
     private final CustomerRepository customerRepository;
+    private final AddressBookCache addressBookCache;
+    private final PostalCodeService postalCodeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AddressService(AddressRepository addressRepository,
+                          CustomerRepository customerRepository,
+                          AddressBookCache addressBookCache,
+                          PostalCodeService postalCodeService,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
+        this.addressRepository = addressRepository;
+        this.customerRepository = customerRepository;
+        this.addressBookCache = addressBookCache;
+        this.postalCodeService = postalCodeService;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     /**
      * Get all addresses for a customer.
@@ -49,6 +80,34 @@ public class AddressService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Get all addresses of a customer together with the default one.
+     * Served from the address book cache.
+     *
+     * @param customerId the customer ID
+     * @return address book
+     * @throws ResourceNotFoundException if customer not found
+     */
+    public AddressBook getAddressBook(Long customerId) {
+        return addressBookCache.get(customerId, id -> readOnlyTransaction.execute(status -> loadAddressBook(id)));
+    }
+
+    /**
+     * Get the default address of a customer, for example at checkout.
+     * Served from the address book cache.
+     *
+     * @param customerId the customer ID
+     * @return the default address
+     * @throws ResourceNotFoundException if customer not found or has no default address
+     */
+    public AddressResponse getDefaultAddress(Long customerId) {
+        AddressBook addressBook = getAddressBook(customerId);
+        return addressBook.getAddresses().stream()
+                .filter(address -> address.getId().equals(addressBook.getDefaultAddressId()))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("No default address for customer: " + customerId));
+    }
+
     /**
      * Create a new address for a customer.
      *
@@ -56,25 +115,18 @@ public class AddressService {
      * @param request address request
      * @return created address
      * @throws ResourceNotFoundException if customer not found
+     * @throws InvalidOperationException if zip code, city and state do not match
      */
     @Transactional
     public AddressResponse createAddress(Long customerId, AddressRequest request) {
         log.info("Creating new address for customer ID: {}", customerId);
+        postalCodeService.validate(request);
 
-        // Verify customer exists
-        if (!customerRepository.existsById(customerId)) {
+        // Verify customer exists, locking it so default switches are serialized
+        if (customerRepository.lockById(customerId).isEmpty()) {
             throw new ResourceNotFoundException("Customer not found with ID: " + customerId);
         }
 
-        // If this is set as default, remove default from other addresses
-        if (Boolean.TRUE.equals(request.getIsDefault())) {
-            addressRepository.findByCustomerIdAndIsDefaultTrue(customerId)
-                    .ifPresent(existingDefault -> {
-                        existingDefault.setIsDefault(false);
-                        addressRepository.save(existingDefault);
-                    });
-        }
-
         Address address = Address.builder()
                 .customerId(customerId)
                 .street(request.getStreet())
@@ -82,10 +134,14 @@ public class AddressService {
                 .state(request.getState())
                 .zipCode(request.getZipCode())
                 .country(request.getCountry())
-                .isDefault(request.getIsDefault())
+                .isDefault(false)
                 .build();
 
         address = addressRepository.save(address);
+        if (Boolean.TRUE.equals(request.getIsDefault())) {
+            switchDefault(address);
+        }
+        eventPublisher.publishEvent(new AddressesChangedEvent(List.of(customerId)));
         log.info("Address created successfully with ID: {}", address.getId());
 
         return mapToResponse(address);
@@ -99,25 +155,22 @@ public class AddressService {
      * @param request address request
      * @return updated address
      * @throws ResourceNotFoundException if address not found
+     * @throws InvalidOperationException if zip code, city and state do not match
      */
     @Transactional
     public AddressResponse updateAddress(Long addressId, Long customerId, AddressRequest request) {
         log.info("Updating address ID: {} for customer ID: {}", addressId, customerId);
+        postalCodeService.validate(request);
+
+        // Lock the customer before touching its addresses if the default may switch
+        if (Boolean.TRUE.equals(request.getIsDefault())) {
+            customerRepository.lockById(customerId);
+        }
 
         Address address = addressRepository.findByIdAndCustomerId(addressId, customerId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Address not found with ID: " + addressId + " for customer: " + customerId));
-
-        // If this is set as default, remove default from other addresses
-        if (Boolean.TRUE.equals(request.getIsDefault()) && !address.getIsDefault()) {
-            addressRepository.findByCustomerIdAndIsDefaultTrue(customerId)
-                    .ifPresent(existingDefault -> {
-                        if (!existingDefault.getId().equals(addressId)) {
-                            existingDefault.setIsDefault(false);
-                            addressRepository.save(existingDefault);
-                        }
-                    });
-        }
+        boolean becomesDefault = Boolean.TRUE.equals(request.getIsDefault()) && !address.getIsDefault();
 
         // Update fields
         address.setStreet(request.getStreet());
@@ -125,9 +178,15 @@ public class AddressService {
         address.setState(request.getState());
         address.setZipCode(request.getZipCode());
         address.setCountry(request.getCountry());
-        address.setIsDefault(request.getIsDefault());
+        if (!becomesDefault) {
+            address.setIsDefault(request.getIsDefault());
+        }
 
         address = addressRepository.save(address);
+        if (becomesDefault) {
+            switchDefault(address);
+        }
+        eventPublisher.publishEvent(new AddressesChangedEvent(List.of(customerId)));
         log.info("Address updated successfully with ID: {}", addressId);
 
         return mapToResponse(address);
@@ -149,9 +208,48 @@ public class AddressService {
                         "Address not found with ID: " + addressId + " for customer: " + customerId));
 
         addressRepository.delete(address);
+        eventPublisher.publishEvent(new AddressesChangedEvent(List.of(customerId)));
         log.info("Address deleted successfully with ID: {}", addressId);
     }
 
+    /**
+     * Load a customer's addresses, oldest first.
+     *
+     * @param customerId the customer ID
+     * @return address book
+     * @throws ResourceNotFoundException if customer not found
+     */
+    private AddressBook loadAddressBook(Long customerId) {
+        List<AddressResponse> addresses = addressRepository.findByCustomerIdOrderByIdAsc(customerId).stream()
+                .map(this::mapToResponse)
+                .toList();
+        if (addresses.isEmpty() && !customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found with ID: " + customerId);
+        }
+        Long defaultAddressId = addresses.stream()
+                .filter(address -> Boolean.TRUE.equals(address.getIsDefault()))
+                .map(AddressResponse::getId)
+                .findFirst()
+                .orElse(null);
+        return AddressBook.builder()
+                .customerId(customerId)
+                .defaultAddressId(defaultAddressId)
+                .addresses(addresses)
+                .build();
+    }
+
+    /**
+     * Make an address its customer's default, clearing the previous default first.
+     * The caller must hold the customer's row lock.
+     *
+     * @param address the saved address
+     */
+    private void switchDefault(Address address) {
+        addressRepository.clearDefaultExcept(address.getCustomerId(), address.getId());
+        addressRepository.markDefault(address.getCustomerId(), address.getId());
+        address.setIsDefault(true);
+    }
+
     /**
      * Map address entity to response DTO.
      *
@@ -2,19 +2,29 @@ package com.ecommerce.customer.service;
 
 import com.ecommerce.customer.dto.*;
 import com.ecommerce.customer.entity.Customer;
+import com.ecommerce.customer.entity.RevokedToken;
 import com.ecommerce.customer.exception.AuthenticationException;
 import com.ecommerce.customer.exception.DuplicateResourceException;
+import com.ecommerce.customer.exception.TooManyRequestsException;
 import com.ecommerce.customer.repository.CustomerRepository;
+import com.ecommerce.customer.security.AuthRateLimiter;
 import com.ecommerce.customer.security.JwtUtil;
+import com.ecommerce.customer.security.PasswordHasher;
+import com.ecommerce.customer.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for authentication operations.
- * Handles user registration, login, and token refresh.
+ * Handles user registration, login, token refresh and logout.
+ * Password hashing runs on the bounded pool of {@link PasswordHasher}; hashes made with an outdated
+ * cost are replaced on the next successful login. Attempts are rate limited per client IP and per
+ * email before any lookup or hashing. Registration and login run without a surrounding transaction,
+ * so no database connection is held while a password is hashed. Registration only checks the
+ * database for an existing email when {@link RegisteredEmailFilter} cannot rule it out, and relies
+ * on the unique constraint to reject concurrent sign-ups with the same address.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -25,22 +35,27 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final CustomerRepository customerRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final AuthRateLimiter authRateLimiter;
+    private final TokenRevocationService tokenRevocationService;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     /**
      * Register a new customer.
      *
      * @param request registration request
+     * @param clientIp the client IP address
      * @return authentication response with tokens
      * @throws DuplicateResourceException if email already exists
+     * @throws TooManyRequestsException if the client is rate limited
      */
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    public AuthResponse register(RegisterRequest request, String clientIp) {
         log.info("Registering new customer with email: {}", request.getEmail());
+        authRateLimiter.checkRegister(clientIp);
 
-        // Check if email already exists
-        if (customerRepository.existsByEmail(request.getEmail())) {
+        // Only query for addresses the filter cannot rule out
+        if (registeredEmailFilter.mightExist(request.getEmail()) && customerRepository.existsByEmail(request.getEmail())) {
             throw new DuplicateResourceException("Email already registered: " + request.getEmail());
         }
 
@@ -49,12 +64,22 @@ public class AuthService {
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .phone(request.getPhone())
                 .role(Customer.Role.CUSTOMER)
                 .build();
 
-        customer = customerRepository.save(customer);
+        // The unique constraint on the email decides concurrent sign-ups with the same address
+        try {
+            customer = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException ex) {
+            if (customerRepository.existsByEmail(request.getEmail())) {
+                registeredEmailFilter.add(request.getEmail());
+                throw new DuplicateResourceException("Email already registered: " + request.getEmail());
+            }
+            throw ex;
+        }
+        registeredEmailFilter.add(customer.getEmail());
         log.info("Customer registered successfully with ID: {}", customer.getId());
 
         // Generate tokens
@@ -68,21 +93,27 @@ public class AuthService {
      * Authenticate a customer and generate tokens.
      *
      * @param request login request
+     * @param clientIp the client IP address
      * @return authentication response with tokens
      * @throws AuthenticationException if credentials are invalid
+     * @throws TooManyRequestsException if the client or the email is rate limited
      */
-    @Transactional(readOnly = true)
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Login attempt for email: {}", request.getEmail());
+        authRateLimiter.checkLogin(clientIp, request.getEmail());
 
         // Find customer by email
-        Customer customer = customerRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new AuthenticationException("Invalid email or password"));
+        Customer customer = customerRepository.findByEmail(request.getEmail()).orElse(null);
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), customer.getPassword())) {
+        if (customer == null || !passwordHasher.matches(request.getPassword(), customer.getPassword())) {
+            authRateLimiter.loginFailed(request.getEmail());
             throw new AuthenticationException("Invalid email or password");
         }
+        authRateLimiter.loginSucceeded(request.getEmail());
+        if (passwordHasher.needsRehash(customer.getPassword())) {
+            rehash(customer, request.getPassword());
+        }
 
         log.info("Customer logged in successfully with ID: {}", customer.getId());
 
@@ -95,30 +126,33 @@ public class AuthService {
 
     /**
      * Refresh access token using refresh token.
+     * Refresh tokens rotate: the presented token is revoked and a new one issued, so each refresh
+     * token works once and presenting a used one fails.
      *
      * @param request refresh token request
      * @return authentication response with new tokens
-     * @throws AuthenticationException if refresh token is invalid
+     * @throws AuthenticationException if refresh token is invalid, revoked or already used
      */
-    @Transactional(readOnly = true)
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         try {
-            String refreshToken = request.getRefreshToken();
-
-            // Validate refresh token
-            if (!jwtUtil.isRefreshToken(refreshToken)) {
+            // Verify signature and expiration with a single parse
+            VerifiedToken refreshToken = jwtUtil.verify(request.getRefreshToken());
+            if (!refreshToken.isRefreshToken()) {
                 throw new AuthenticationException("Invalid refresh token");
             }
-
-            String email = jwtUtil.extractUsername(refreshToken);
+            String jti = TokenRevocationService.revocationId(refreshToken, request.getRefreshToken());
+            if (tokenRevocationService.isRevoked(jti)) {
+                throw new AuthenticationException("Refresh token has been revoked");
+            }
 
             // Find customer
-            Customer customer = customerRepository.findByEmail(email)
+            Customer customer = customerRepository.findByEmail(refreshToken.getSubject())
                     .orElseThrow(() -> new AuthenticationException("Customer not found"));
 
-            // Validate token
-            if (!jwtUtil.validateToken(refreshToken, email)) {
-                throw new AuthenticationException("Refresh token expired or invalid");
+            // Revoking is atomic, so of two concurrent refreshes with the same token only one wins
+            if (!tokenRevocationService.revoke(jti, customer.getId(), refreshToken.getExpiration(),
+                    RevokedToken.Reason.ROTATED)) {
+                throw new AuthenticationException("Refresh token has already been used");
             }
 
             log.info("Token refreshed for customer ID: {}", customer.getId());
@@ -128,9 +162,52 @@ public class AuthService {
             String newRefreshToken = jwtUtil.generateRefreshToken(customer);
 
             return buildAuthResponse(customer, newAccessToken, newRefreshToken);
+        } catch (AuthenticationException e) {
+            log.warn("Refresh rejected: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            throw new AuthenticationException("Invalid refresh token", e);
+        }
+    }
+
+    /**
+     * Log out by revoking a refresh token.
+     * Revoking a token that is already revoked succeeds as well.
+     *
+     * @param request refresh token request
+     * @throws AuthenticationException if the refresh token is invalid
+     */
+    public void logout(RefreshTokenRequest request) {
+        VerifiedToken refreshToken;
+        try {
+            refreshToken = jwtUtil.verify(request.getRefreshToken());
         } catch (Exception e) {
             throw new AuthenticationException("Invalid refresh token", e);
         }
+        if (!refreshToken.isRefreshToken()) {
+            throw new AuthenticationException("Invalid refresh token");
+        }
+        tokenRevocationService.revoke(TokenRevocationService.revocationId(refreshToken, request.getRefreshToken()), refreshToken.getUserId(),
+                refreshToken.getExpiration(), RevokedToken.Reason.LOGOUT);
+        log.info("Customer ID {} logged out", refreshToken.getUserId());
+    }
+
+    /**
+     * Replace a password hash made with an outdated cost.
+     * The login still succeeds if the pool is too busy for the extra hash; it is retried next time.
+     *
+     * @param customer the authenticated customer
+     * @param rawPassword the verified plain-text password
+     */
+    private void rehash(Customer customer, String rawPassword) {
+        try {
+            String newHash = passwordHasher.encode(rawPassword);
+            if (customerRepository.updatePasswordHash(customer.getId(), customer.getPassword(), newHash) > 0) {
+                log.info("Rehashed password of customer ID {} with cost {}", customer.getId(), passwordHasher.getCost());
+            }
+        } catch (TooManyRequestsException ex) {
+            log.debug("Skipping password rehash of customer ID {}: {}", customer.getId(), ex.getMessage());
+        }
     }
 
     /**
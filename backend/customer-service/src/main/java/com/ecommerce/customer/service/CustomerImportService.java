@@ -0,0 +1,394 @@
+package com.ecommerce.customer.service;
+
+import com.ecommerce.customer.dto.AddressRequest;
+import com.ecommerce.customer.dto.CustomerImportResult;
+import com.ecommerce.customer.dto.CustomerImportRow;
+import com.ecommerce.customer.entity.Customer;
+import com.ecommerce.customer.exception.InvalidOperationException;
+import com.ecommerce.customer.repository.CustomerRepository;
+import com.ecommerce.customer.security.PasswordHasher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk customer imports, such as migrations from a legacy platform.
+ * Streams NDJSON input line by line, validates each row, checks its email against the
+ * {@link RegisteredEmailFilter} (querying the database only when the filter may contain it) and the
+ * addresses seen earlier in the file, and writes accepted customers and their addresses with JDBC
+ * batch inserts, one transaction per batch. The unique constraint on the email column catches
+ * addresses registered elsewhere while the import runs.
+ *
+ * <p>Plain-text passwords are hashed on a work-stealing pool that by default uses half of the
+ * available cores. BCrypt is CPU-bound, so a separate pool alone would not protect sign-ins; capping
+ * its threads leaves the remaining cores to request handling and login hashing. While one batch is
+ * hashed the previous one is written, keeping both the cores and the database busy. Rows carrying an
+ * existing BCrypt hash are written without hashing.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class CustomerImportService {
+
+    private static final String INSERT_CUSTOMER_SQL =
+            "INSERT INTO customers (first_name, last_name, email, password, phone, role, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ADDRESS_SQL =
+            "INSERT INTO addresses (customer_id, street, city, state, zip_code, country, is_default, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PasswordHasher passwordHasher;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final PostalCodeService postalCodeService;
+    private final ForkJoinPool hashingPool;
+
+    @Value("${customer.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${customer.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public CustomerImportService(JdbcTemplate jdbcTemplate,
+                                 CustomerRepository customerRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 PasswordHasher passwordHasher,
+                                 RegisteredEmailFilter registeredEmailFilter,
+                                 PostalCodeService postalCodeService,
+                                 @Value("${customer.import.hashing-threads:0}") int hashingThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.passwordHasher = passwordHasher;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.postalCodeService = postalCodeService;
+
+        int parallelism = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("customer-import-hashing-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * Import customers from an NDJSON stream.
+     * Each line holds one customer object with firstName, lastName, email, phone, either password or
+     * passwordHash, and an optional addresses array. Imported customers always get the CUSTOMER role.
+     *
+     * @param input the input stream
+     * @return import result with counts, throughput and per-row errors
+     * @throws IOException if reading the input fails
+     */
+    public CustomerImportResult importCustomers(InputStream input) throws IOException {
+        log.info("Starting bulk customer import - batchSize: {}, hashing threads: {}",
+                batchSize, hashingPool.getParallelism());
+        long start = System.nanoTime();
+
+        ImportContext context = new ImportContext();
+        try {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    long row = ++context.totalRows;
+                    try {
+                        accept(row, objectMapper.readValue(line, CustomerImportRow.class), context);
+                    } catch (JsonProcessingException ex) {
+                        context.reject(row, null, "Malformed JSON: " + ex.getOriginalMessage());
+                    }
+                }
+            }
+            dispatch(context);
+        } finally {
+            // Write what was already hashed even if reading failed part way
+            complete(context);
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk customer import finished - rows: {}, imported: {}, failed: {}, hashed: {}, duration: {} ms",
+                context.totalRows, context.imported, context.failed, context.hashed, durationMs);
+
+        return CustomerImportResult.builder()
+                .totalRows(context.totalRows)
+                .importedCount(context.imported)
+                .failedCount(context.failed)
+                .addressCount(context.addresses)
+                .passwordsHashed(context.hashed)
+                .durationMs(durationMs)
+                .rowsPerSecond(context.totalRows * 1000 / durationMs)
+                .errors(context.errors)
+                .errorsTruncated(context.failed > context.errors.size())
+                .build();
+    }
+
+    /**
+     * Validate a parsed row and add it to the current batch if it is acceptable.
+     */
+    private void accept(long row, CustomerImportRow request, ImportContext context) {
+        Set<ConstraintViolation<CustomerImportRow>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            context.reject(row, request.getEmail(), message);
+            return;
+        }
+
+        boolean hasPassword = request.getPassword() != null && !request.getPassword().isBlank();
+        if (hasPassword == (request.getPasswordHash() != null)) {
+            context.reject(row, request.getEmail(), "Exactly one of password and passwordHash is required");
+            return;
+        }
+        if (!hasPassword && !passwordHasher.isHash(request.getPasswordHash())) {
+            context.reject(row, request.getEmail(), "passwordHash is not a BCrypt hash");
+            return;
+        }
+        List<AddressRequest> addresses = request.getAddresses() != null ? request.getAddresses() : List.of();
+        if (addresses.stream().filter(address -> Boolean.TRUE.equals(address.getIsDefault())).count() > 1) {
+            context.reject(row, request.getEmail(), "At most one address can be the default");
+            return;
+        }
+        try {
+            addresses.forEach(postalCodeService::validate);
+        } catch (InvalidOperationException ex) {
+            context.reject(row, request.getEmail(), ex.getMessage());
+            return;
+        }
+
+        // Also rejects emails repeated within the same file
+        if (!context.emails.add(normalize(request.getEmail())) || isRegistered(request.getEmail())) {
+            context.reject(row, request.getEmail(), "Email already registered: " + request.getEmail());
+            return;
+        }
+
+        context.batch.add(new PendingRow(row, request, addresses));
+        if (context.batch.size() >= batchSize) {
+            dispatch(context);
+        }
+    }
+
+    /**
+     * Start hashing the current batch, then write the previous one while the hashing runs.
+     */
+    private void dispatch(ImportContext context) {
+        List<PendingRow> rows = context.batch;
+        if (rows.isEmpty()) {
+            return;
+        }
+        Future<?> hashing = hashingPool.submit(() -> rows.parallelStream().forEach(this::hash));
+        context.batch = new ArrayList<>(batchSize);
+        complete(context);
+        context.inFlight = rows;
+        context.inFlightHashing = hashing;
+    }
+
+    /**
+     * Wait for the batch in flight to be hashed and write it.
+     */
+    private void complete(ImportContext context) {
+        List<PendingRow> rows = context.inFlight;
+        if (rows == null) {
+            return;
+        }
+        context.inFlight = null;
+        try {
+            context.inFlightHashing.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            context.inFlightHashing.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing imported passwords", ex);
+        } catch (ExecutionException ex) {
+            log.error("Hashing a batch of {} imported passwords failed", rows.size(), ex.getCause());
+            rows.forEach(row -> context.reject(row.rowNumber, row.request.getEmail(), "Password hashing failed"));
+            return;
+        }
+        context.hashed += rows.stream().filter(row -> row.hashed).count();
+        write(rows, context);
+    }
+
+    private void hash(PendingRow row) {
+        if (row.request.getPasswordHash() == null) {
+            row.passwordHash = passwordHasher.encodeOnCaller(row.request.getPassword());
+            row.hashed = true;
+        } else {
+            row.passwordHash = row.request.getPasswordHash();
+        }
+        row.request.setPassword(null);
+    }
+
+    /**
+     * Write a hashed batch in one transaction.
+     * If the batch fails (for example an email registered concurrently through the API), the rows
+     * are retried one by one so that only the offending rows are reported.
+     */
+    private void write(List<PendingRow> rows, ImportContext context) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rows));
+            imported(rows, context);
+        } catch (DataAccessException ex) {
+            log.warn("Batch insert of {} customers failed, retrying individually: {}", rows.size(), ex.getMessage());
+            for (PendingRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(List.of(row)));
+                    imported(List.of(row), context);
+                } catch (DuplicateKeyException e) {
+                    context.reject(row.rowNumber, row.request.getEmail(),
+                            "Email already registered: " + row.request.getEmail());
+                } catch (DataAccessException e) {
+                    context.reject(row.rowNumber, row.request.getEmail(), e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void imported(List<PendingRow> rows, ImportContext context) {
+        for (PendingRow row : rows) {
+            registeredEmailFilter.add(row.request.getEmail());
+            context.imported++;
+            context.addresses += row.addresses.size();
+        }
+    }
+
+    /**
+     * Insert customers with a single JDBC batch, then their addresses with a second one.
+     */
+    private void insertBatch(List<PendingRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_CUSTOMER_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingRow row = rows.get(i);
+                        ps.setString(1, row.request.getFirstName());
+                        ps.setString(2, row.request.getLastName());
+                        ps.setString(3, row.request.getEmail());
+                        ps.setString(4, row.passwordHash);
+                        ps.setString(5, row.request.getPhone());
+                        ps.setString(6, Customer.Role.CUSTOMER.name());
+                        ps.setObject(7, now);
+                        ps.setObject(8, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Object[]> addresses = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            long customerId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            for (AddressRequest address : rows.get(i).addresses) {
+                addresses.add(new Object[]{customerId, address.getStreet(), address.getCity(), address.getState(),
+                        address.getZipCode(), address.getCountry(), Boolean.TRUE.equals(address.getIsDefault()), now});
+            }
+        }
+        if (!addresses.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ADDRESS_SQL, addresses);
+        }
+    }
+
+    /**
+     * Check whether an email is already registered, asking the database only if the filter may know it.
+     */
+    private boolean isRegistered(String email) {
+        return registeredEmailFilter.mightExist(email) && customerRepository.existsByEmail(email);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A validated row waiting to be hashed and written.
+     */
+    private static final class PendingRow {
+        private final long rowNumber;
+        private final CustomerImportRow request;
+        private final List<AddressRequest> addresses;
+        private String passwordHash;
+        private boolean hashed;
+
+        private PendingRow(long rowNumber, CustomerImportRow request, List<AddressRequest> addresses) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+            this.addresses = addresses;
+        }
+    }
+
+    /**
+     * Mutable state of a single import run.
+     */
+    private final class ImportContext {
+        private final Set<String> emails = new HashSet<>();
+        private final List<CustomerImportResult.RowError> errors = new ArrayList<>();
+        private List<PendingRow> batch = new ArrayList<>(batchSize);
+        private List<PendingRow> inFlight;
+        private Future<?> inFlightHashing;
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private long addresses;
+        private long hashed;
+
+        private void reject(long row, String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new CustomerImportResult.RowError(row, email, message));
+            }
+        }
+    }
+}
@@ -1,28 +1,59 @@
 package com.ecommerce.customer.service;
 
+import com.ecommerce.customer.cache.CustomerProfileCache;
 import com.ecommerce.customer.dto.CustomerResponse;
 import com.ecommerce.customer.dto.UpdateCustomerRequest;
 import com.ecommerce.customer.entity.Customer;
+import com.ecommerce.customer.event.CustomersChangedEvent;
+import com.ecommerce.customer.exception.InvalidOperationException;
 import com.ecommerce.customer.exception.ResourceNotFoundException;
 import com.ecommerce.customer.repository.CustomerRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service class for customer operations.
  * Handles customer profile management.
+ * Profiles are read through {@link CustomerProfileCache}, which is invalidated when a profile is updated.
+ * Only a cache miss opens a (read-only) transaction, so a hit does not borrow a database connection.
  *
  * @author E-Commerce Team
  * @version 1.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerProfileCache customerProfileCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${customer.profile.batch.max-ids:100}")
+    private int maxBatchIds;
+
+    public CustomerService(CustomerRepository customerRepository,
+                           CustomerProfileCache customerProfileCache,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.customerProfileCache = customerProfileCache;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     /**
      * Get customer by ID.
@@ -31,12 +62,48 @@ public class CustomerService {
      * @return customer response
      * @throws ResourceNotFoundException if customer not found
      */
-    @Transactional(readOnly = true)
     public CustomerResponse getCustomerById(Long customerId) {
         log.debug("Fetching customer with ID: {}", customerId);
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + customerId));
-        return mapToResponse(customer);
+        return customerProfileCache.get(customerId, id -> readOnlyTransaction.execute(status ->
+                customerRepository.findById(id)
+                        .map(this::mapToResponse)
+                        .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + id))));
+    }
+
+    /**
+     * Get several customers by ID.
+     * Cache misses are loaded with a single query. Unknown IDs are left out of the result and
+     * duplicates are returned once, in the order of their first occurrence.
+     *
+     * @param customerIds the customer IDs
+     * @return customer responses
+     * @throws InvalidOperationException if more IDs are requested than allowed per call
+     */
+    public List<CustomerResponse> getCustomersByIds(List<Long> customerIds) {
+        Set<Long> ids = new LinkedHashSet<>(customerIds);
+        ids.remove(null);
+        if (ids.size() > maxBatchIds) {
+            throw new InvalidOperationException("At most " + maxBatchIds + " customer IDs can be requested at once");
+        }
+        log.debug("Fetching {} customers by ID", ids.size());
+
+        Map<Long, CustomerResponse> profiles = customerProfileCache.getAll(ids, missing ->
+                readOnlyTransaction.execute(status -> {
+                    Map<Long, CustomerResponse> loaded = new HashMap<>(missing.size() * 2);
+                    for (Customer customer : customerRepository.findAllById(missing)) {
+                        loaded.put(customer.getId(), mapToResponse(customer));
+                    }
+                    return loaded;
+                }));
+
+        List<CustomerResponse> responses = new ArrayList<>(profiles.size());
+        for (Long id : ids) {
+            CustomerResponse profile = profiles.get(id);
+            if (profile != null) {
+                responses.add(profile);
+            }
+        }
+        return responses;
     }
 
     /**
@@ -66,6 +133,7 @@ public class CustomerService {
         }
 
         customer = customerRepository.save(customer);
+        eventPublisher.publishEvent(new CustomersChangedEvent(List.of(customerId)));
         log.info("Customer updated successfully with ID: {}", customerId);
 
         return mapToResponse(customer);
@@ -0,0 +1,151 @@
+package com.ecommerce.customer.service;
+
+import com.ecommerce.customer.dto.AddressRequest;
+import com.ecommerce.customer.dto.PostalSuggestion;
+import com.ecommerce.customer.exception.InvalidOperationException;
+import com.ecommerce.customer.postal.PostalCodeIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for postal code validation and autocomplete.
+ * Backed by a {@link PostalCodeIndex} loaded at startup from a local file in the GeoNames postal
+ * code format. Addresses are only checked for countries present in the file, so without a file,
+ * or for countries it does not cover, any combination is accepted as before. Once a file is loaded,
+ * the country must be recognizable as an ISO code or English name, so spelling a covered country
+ * differently cannot skip the check.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class PostalCodeService {
+
+    private final ResourceLoader resourceLoader;
+    private final String dataFile;
+    private final int maxSuggestions;
+
+    private volatile PostalCodeIndex index = PostalCodeIndex.empty();
+
+    public PostalCodeService(ResourceLoader resourceLoader,
+                             MeterRegistry meterRegistry,
+                             @Value("${customer.postal.data-file:file:./data/postal-codes.txt}") String dataFile,
+                             @Value("${customer.postal.max-suggestions:20}") int maxSuggestions) {
+        this.resourceLoader = resourceLoader;
+        this.dataFile = dataFile;
+        this.maxSuggestions = maxSuggestions;
+
+        Gauge.builder("customer.postal.index.entries", this, service -> service.index.size())
+                .description("Postal codes in the in-memory postal index")
+                .register(meterRegistry);
+        Gauge.builder("customer.postal.index.bytes", this, service -> service.index.footprintBytes())
+                .description("Approximate heap memory taken by the postal index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the postal index from the data file, if there is one.
+     *
+     * @throws IOException if the data file exists but cannot be read
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        Resource resource = resourceLoader.getResource(dataFile);
+        if (!resource.exists()) {
+            log.warn("Postal code file {} not found, addresses will not be checked against postal codes", dataFile);
+            return;
+        }
+        long start = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            index = PostalCodeIndex.load(reader);
+        }
+        log.info("Postal index loaded from {} with {} postal codes in {} ms, using about {} KB",
+                dataFile, index.size(), (System.nanoTime() - start) / 1_000_000, index.footprintBytes() / 1024);
+    }
+
+    /**
+     * Check that the zip code of an address exists and belongs to its city and state.
+     * The country may be given as ISO code or English name and the state as code or name; case is ignored.
+     *
+     * @param request the address
+     * @throws InvalidOperationException if the country is unknown or the combination is not in the postal index
+     */
+    public void validate(AddressRequest request) {
+        PostalCodeIndex current = index;
+        if (current.size() == 0 || request.getCountry() == null || request.getZipCode() == null) {
+            return;
+        }
+        if (PostalCodeIndex.countryCode(request.getCountry()) == null) {
+            throw new InvalidOperationException("Unknown country " + request.getCountry());
+        }
+        if (!current.covers(request.getCountry())) {
+            return;
+        }
+        List<PostalSuggestion> places = current.lookup(request.getCountry(), request.getZipCode());
+        if (places.isEmpty()) {
+            throw new InvalidOperationException("Unknown zip code " + request.getZipCode() + " for country " + request.getCountry());
+        }
+        String city = trim(request.getCity());
+        String state = trim(request.getState());
+        for (PostalSuggestion place : places) {
+            if (place.getCity().equalsIgnoreCase(city)
+                    && (state.equalsIgnoreCase(place.getStateCode()) || state.equalsIgnoreCase(place.getStateName())
+                        || (place.getStateCode() == null && place.getStateName() == null))) {
+                return;
+            }
+        }
+        throw new InvalidOperationException("Zip code " + request.getZipCode() + " belongs to " + places.stream()
+                .map(place -> place.getStateCode() != null ? place.getCity() + ", " + place.getStateCode() : place.getCity())
+                .distinct()
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Zip codes of a country starting with a prefix.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @param prefix the zip code prefix
+     * @param limit maximum number of suggestions, capped by the configured maximum
+     * @return suggestions with zip code, city and state
+     */
+    public List<PostalSuggestion> suggestZipCodes(String country, String prefix, int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return index.completePostalCode(country, prefix, Math.min(limit, maxSuggestions));
+    }
+
+    /**
+     * Cities of a country whose name starts with a prefix, ignoring case.
+     *
+     * @param country ISO 3166-1 alpha-2 country code
+     * @param prefix the city name prefix
+     * @param limit maximum number of suggestions, capped by the configured maximum
+     * @return suggestions with city and state
+     */
+    public List<PostalSuggestion> suggestCities(String country, String prefix, int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return index.completePlace(country, prefix, Math.min(limit, maxSuggestions));
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.customer.service;
+
+import com.ecommerce.customer.repository.CustomerRepository;
+import com.ecommerce.customer.security.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of registered email addresses.
+ * Registration asks the filter first and only queries the database when the address may already
+ * be taken, so signing up with a new address skips the existence query. The filter is a fast path
+ * only: addresses registered through other instances are not in it, and the unique constraint on
+ * the email column stays the final check.
+ *
+ * <p>Addresses are added lower-cased, so a miss also rules out variants differing in case.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BloomFilter filter;
+    private final long expectedInsertions;
+    private final Counter absent;
+    private final Counter mayExist;
+
+    public RegisteredEmailFilter(CustomerRepository customerRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${customer.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${customer.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.expectedInsertions = expectedInsertions;
+
+        this.absent = Counter.builder("customer.email-filter.checks")
+                .description("Registered email checks answered by the Bloom filter")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.mayExist = Counter.builder("customer.email-filter.checks")
+                .description("Registered email checks answered by the Bloom filter")
+                .tag("result", "may-exist")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the email addresses of all customers into the filter.
+     */
+    @PostConstruct
+    public void load() {
+        AtomicLong loaded = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> emails = customerRepository.streamAllEmails()) {
+                emails.forEach(email -> {
+                    filter.put(normalize(email));
+                    loaded.incrementAndGet();
+                });
+            }
+        });
+        if (loaded.get() > expectedInsertions) {
+            log.warn("{} registered emails exceed the expected {}, more registrations will need a database check",
+                    loaded.get(), expectedInsertions);
+        }
+        log.info("Registered email filter loaded with {} addresses", loaded.get());
+    }
+
+    /**
+     * Check whether an email address may already be registered.
+     *
+     * @param email the email address
+     * @return false if no customer with this address was known to this instance
+     */
+    public boolean mightExist(String email) {
+        if (filter.mightContain(normalize(email))) {
+            mayExist.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Record a registered email address.
+     *
+     * @param email the email address
+     */
+    public void add(String email) {
+        filter.put(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.customer.service;
+
+import com.ecommerce.customer.cache.TokenVerificationCache;
+import com.ecommerce.customer.dto.IntrospectionResponse;
+import com.ecommerce.customer.security.JwtUtil;
+import com.ecommerce.customer.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for token introspection, letting other services check a token without holding the
+ * signing key. Verified claims come from {@link TokenVerificationCache}; refresh tokens are also
+ * checked against the deny list on every call, which costs no I/O unless the Bloom filter in front
+ * of it reports a possible revocation, so a revoked token turns inactive immediately.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenIntrospectionService {
+
+    private final JwtUtil jwtUtil;
+    private final TokenVerificationCache tokenVerificationCache;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Introspect a token.
+     *
+     * @param token the encoded token
+     * @return the token's claims if it is active, otherwise an inactive response
+     */
+    public IntrospectionResponse introspect(String token) {
+        VerifiedToken verified;
+        try {
+            verified = tokenVerificationCache.get(token, jwtUtil::verify);
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Introspected token is invalid: {}", ex.getMessage());
+            return IntrospectionResponse.inactive();
+        }
+        if (verified.getExpiration().getTime() <= System.currentTimeMillis()) {
+            return IntrospectionResponse.inactive();
+        }
+        if (verified.isRefreshToken()
+                && tokenRevocationService.isRevoked(TokenRevocationService.revocationId(verified, token))) {
+            return IntrospectionResponse.inactive();
+        }
+        return IntrospectionResponse.builder()
+                .active(true)
+                .sub(verified.getSubject())
+                .userId(verified.getUserId())
+                .role(verified.getRole())
+                .tokenType(verified.isRefreshToken() ? "refresh" : "access")
+                .jti(verified.getId())
+                .iat(verified.getIssuedAt() != null ? verified.getIssuedAt().getTime() / 1000 : null)
+                .exp(verified.getExpiration().getTime() / 1000)
+                .build();
+    }
+}
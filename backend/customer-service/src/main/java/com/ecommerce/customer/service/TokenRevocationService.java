@@ -0,0 +1,221 @@
+package com.ecommerce.customer.service;
+
+import com.ecommerce.customer.entity.RevokedToken;
+import com.ecommerce.customer.repository.RevokedTokenRepository;
+import com.ecommerce.customer.security.BloomFilter;
+import com.ecommerce.customer.security.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service class for the refresh token deny list.
+ * Revocations are persisted in the revoked_tokens table and mirrored in an in-memory Bloom filter,
+ * so checking a token that was never revoked, by far the common case, needs no database access;
+ * only filter hits are confirmed against the table.
+ *
+ * <p>The filter is built from the table at startup and picks up revocations made by other
+ * instances every sync interval. Revoked entries cannot be removed from a Bloom filter, so expired
+ * rows are purged and the filter is rebuilt periodically.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+    private final AtomicLong entries = new AtomicLong();
+    private final Counter filterMisses;
+    private final Counter confirmedRevoked;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private LocalDateTime lastSync;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${customer.token-revocation.expected-insertions:1000000}") long expectedInsertions,
+                                  @Value("${customer.token-revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                  @Value("${customer.token-revocation.sync-overlap:PT30S}") Duration syncOverlap) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+
+        this.filterMisses = Counter.builder("customer.token-revocation.checks")
+                .description("Refresh token revocation checks")
+                .tag("result", "not-revoked")
+                .register(meterRegistry);
+        this.confirmedRevoked = Counter.builder("customer.token-revocation.checks")
+                .description("Refresh token revocation checks")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("customer.token-revocation.checks")
+                .description("Refresh token revocation checks")
+                .tag("result", "false-positive")
+                .register(meterRegistry);
+        Gauge.builder("customer.token-revocation.filter.entries", entries, AtomicLong::get)
+                .description("Revoked tokens loaded into the Bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the filter from the revocation store before the service accepts requests.
+     */
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Check whether a token has been revoked.
+     *
+     * @param jti the JWT ID
+     * @return true if the token is revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (!filter.mightContain(jti)) {
+            filterMisses.increment();
+            return false;
+        }
+        if (revokedTokenRepository.existsByJti(jti)) {
+            confirmedRevoked.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revoke a token.
+     * The unique JWT ID makes this atomic across threads and instances: of several concurrent calls
+     * for the same token exactly one returns true.
+     *
+     * @param jti the JWT ID
+     * @param customerId the ID of the customer owning the token
+     * @param expiration the token's expiration
+     * @param reason why the token is revoked
+     * @return true if this call revoked the token, false if it was already revoked
+     */
+    public boolean revoke(String jti, Long customerId, Date expiration, RevokedToken.Reason reason) {
+        RevokedToken revokedToken = RevokedToken.builder()
+                .jti(jti)
+                .customerId(customerId)
+                .reason(reason)
+                .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build();
+        try {
+            revokedTokenRepository.saveAndFlush(revokedToken);
+        } catch (DataIntegrityViolationException ex) {
+            filter.put(jti);
+            return false;
+        }
+        filter.put(jti);
+        entries.incrementAndGet();
+        log.debug("Revoked refresh token {} of customer ID {} ({})", jti, customerId, reason);
+        return true;
+    }
+
+    /**
+     * ID under which a refresh token is revoked.
+     * Tokens issued before refresh tokens carried a JWT ID are identified by a name-based UUID of
+     * the token itself, so they can be rotated and revoked like new ones.
+     *
+     * @param verified the verified claims
+     * @param token the encoded token
+     * @return the token ID
+     */
+    public static String revocationId(VerifiedToken verified, String token) {
+        if (verified.getId() != null) {
+            return verified.getId();
+        }
+        return UUID.nameUUIDFromBytes(token.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Add revocations made by other instances since the last sync to the filter.
+     */
+    @Scheduled(fixedDelayString = "${customer.token-revocation.sync-interval:PT5S}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        int added = addRevokedSince(lastSync.minus(syncOverlap));
+        lastSync = now;
+        log.trace("Synced {} token revocations into the filter", added);
+    }
+
+    /**
+     * Purge revocations of expired tokens and rebuild the filter without them.
+     */
+    @Scheduled(fixedDelayString = "${customer.token-revocation.rebuild-interval:PT24H}",
+            initialDelayString = "${customer.token-revocation.rebuild-interval:PT24H}")
+    public synchronized void purgeAndRebuild() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} revocations of expired refresh tokens", purged);
+        rebuild();
+    }
+
+    /**
+     * Build a new filter from the store and swap it in.
+     * Revocations committed while the store is read are caught by a sync from the start of the rebuild.
+     */
+    private synchronized void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveRate);
+        AtomicLong loaded = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> jtis = revokedTokenRepository.streamActiveJtis(start)) {
+                jtis.forEach(jti -> {
+                    rebuilt.put(jti);
+                    loaded.incrementAndGet();
+                });
+            }
+        });
+        filter = rebuilt;
+        entries.set(loaded.get());
+        lastSync = start;
+        addRevokedSince(start.minus(syncOverlap));
+        if (loaded.get() > expectedInsertions) {
+            log.warn("{} revoked tokens exceed the expected {}, the false-positive rate will rise above {}",
+                    loaded, expectedInsertions, falsePositiveRate);
+        }
+        log.info("Token revocation filter built with {} revoked tokens", loaded);
+    }
+
+    private int addRevokedSince(LocalDateTime since) {
+        BloomFilter current = filter;
+        int added = 0;
+        for (String jti : revokedTokenRepository.findJtisRevokedSince(since)) {
+            if (!current.mightContain(jti)) {
+                current.put(jti);
+                added++;
+            }
+        }
+        entries.addAndGet(added);
+        return added;
+    }
+}
@@ -1,6 +1,9 @@
 package com.ecommerce.order.client;
 
+import com.ecommerce.order.dto.InventoryHoldRequest;
+import com.ecommerce.order.dto.OrderItemRequest;
 import com.ecommerce.order.dto.ProductDTO;
+import com.ecommerce.order.exception.InvalidOperationException;
 import com.ecommerce.order.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,9 +12,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Client for communicating with the Product Service.
- * Handles product validation and information retrieval.
+ * Handles product validation, information retrieval and inventory holds.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -73,4 +79,79 @@ public class ProductServiceClient {
                     ". Available: " + product.getStockQuantity() + ", Requested: " + quantity);
         }
     }
+
+    /**
+     * Hold stock for all items of an order until the order is confirmed or cancelled.
+     *
+     * @param referenceId the hold reference
+     * @param items the items to hold
+     * @throws InvalidOperationException if the stock cannot be held
+     */
+    public void createHolds(String referenceId, List<OrderItemRequest> items) {
+        String url = productServiceUrl + "/api/v1/products/holds";
+        log.debug("Calling Product Service: {}", url);
+
+        try {
+            restTemplate.postForObject(url, new InventoryHoldRequest(referenceId, items), Object.class);
+        } catch (HttpClientErrorException ex) {
+            log.error("Failed to hold stock for {}: {}", referenceId, ex.getMessage());
+            throw new InvalidOperationException(errorMessage(ex));
+        }
+    }
+
+    /**
+     * Commit the holds of an order, making the reservation permanent.
+     *
+     * @param referenceId the hold reference
+     * @throws ResourceNotFoundException if no holds exist for the reference
+     * @throws InvalidOperationException if the holds have expired or were released
+     */
+    public void commitHolds(String referenceId) {
+        String url = productServiceUrl + "/api/v1/products/holds/" + referenceId + "/commit";
+        log.debug("Calling Product Service: {}", url);
+
+        try {
+            restTemplate.postForObject(url, null, Object.class);
+        } catch (HttpClientErrorException.NotFound ex) {
+            throw new ResourceNotFoundException("No holds found for reference: " + referenceId);
+        } catch (HttpClientErrorException ex) {
+            log.error("Failed to commit holds for {}: {}", referenceId, ex.getMessage());
+            throw new InvalidOperationException(errorMessage(ex));
+        }
+    }
+
+    /**
+     * Release the holds of an order and return their stock.
+     *
+     * @param referenceId the hold reference
+     * @throws ResourceNotFoundException if no holds exist for the reference
+     */
+    public void releaseHolds(String referenceId) {
+        String url = productServiceUrl + "/api/v1/products/holds/" + referenceId + "/release";
+        log.debug("Calling Product Service: {}", url);
+
+        try {
+            restTemplate.postForObject(url, null, Object.class);
+        } catch (HttpClientErrorException.NotFound ex) {
+            throw new ResourceNotFoundException("No holds found for reference: " + referenceId);
+        } catch (HttpClientErrorException ex) {
+            log.error("Failed to release holds for {}: {}", referenceId, ex.getMessage());
+            throw new InvalidOperationException(errorMessage(ex));
+        }
+    }
+
+    /**
+     * Extract the message of a Product Service error response.
+     */
+    private String errorMessage(HttpClientErrorException ex) {
+        try {
+            Map<?, ?> body = ex.getResponseBodyAs(Map.class);
+            if (body != null && body.get("message") != null) {
+                return body.get("message").toString();
+            }
+        } catch (RuntimeException ignored) {
+            // Fall through to the status text
+        }
+        return ex.getStatusText();
+    }
 }
@@ -46,6 +46,8 @@ public class OrderService {
     /**
      * Create a new order.
      * Validates products, calculates totals, and creates the order.
+     * Stock for the items is held until the order is confirmed or cancelled; holds of orders that are
+     * never confirmed expire and return their stock automatically.
      *
      * @param request the create order request
      * @return created order DTO
@@ -93,6 +95,7 @@ public class OrderService {
         order.setTotalAmount(totalAmount);
 
         Order savedOrder = orderRepository.save(order);
+        productServiceClient.createHolds(holdReference(savedOrder.getId()), request.getItems());
         log.info("Order created successfully with id: {}", savedOrder.getId());
         return convertToDTO(savedOrder);
     }
@@ -183,6 +186,7 @@ public class OrderService {
 
         // Validate status transition
         validateStatusTransition(currentStatus, newStatus);
+        updateInventoryHolds(id, newStatus);
 
         order.setStatus(newStatus);
         Order updatedOrder = orderRepository.save(order);
@@ -191,6 +195,29 @@ public class OrderService {
         return convertToDTO(updatedOrder);
     }
 
+    /**
+     * Commit the order's inventory holds on confirmation and release them on cancellation.
+     * Orders placed before holds were introduced have none, which is logged and otherwise ignored.
+     *
+     * @param orderId the order ID
+     * @param newStatus the new status
+     */
+    private void updateInventoryHolds(Long orderId, OrderStatus newStatus) {
+        try {
+            if (newStatus == OrderStatus.CONFIRMED) {
+                productServiceClient.commitHolds(holdReference(orderId));
+            } else if (newStatus == OrderStatus.CANCELLED) {
+                productServiceClient.releaseHolds(holdReference(orderId));
+            }
+        } catch (ResourceNotFoundException ex) {
+            log.warn("No inventory holds found for order {}", orderId);
+        }
+    }
+
+    private String holdReference(Long orderId) {
+        return "order:" + orderId;
+    }
+
     /**
      * Validate order status transition.
      * Ensures only valid state transitions are allowed.
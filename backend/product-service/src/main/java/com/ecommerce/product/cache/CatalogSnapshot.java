@@ -0,0 +1,270 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of the catalog on local disk.
+ * Holds the category names and the DTOs of all active products, together with the change log cursor
+ * the snapshot is consistent with. Snapshots are written to a temporary file and moved into place,
+ * so a reader only ever sees complete files, and are read through a read-only memory mapping.
+ *
+ * <p>Layout (big-endian): magic, format version, cursor, creation time, category count, then
+ * (id, name) per category, then one marker byte followed by a product record per product, and a
+ * zero marker at the end.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415453;
+    private static final int FORMAT_VERSION = 2;
+    private static final byte PRODUCT = 1;
+    private static final byte END = 0;
+
+    private final String changeCursor;
+    private final LocalDateTime createdAt;
+    private final Map<Long, String> categoryNames;
+    private final List<ProductDTO> products;
+
+    private CatalogSnapshot(String changeCursor, LocalDateTime createdAt,
+                            Map<Long, String> categoryNames, List<ProductDTO> products) {
+        this.changeCursor = changeCursor;
+        this.createdAt = createdAt;
+        this.categoryNames = categoryNames;
+        this.products = products;
+    }
+
+    /**
+     * Start writing a snapshot. Products are appended one at a time and the file replaces the existing
+     * snapshot when the writer is committed.
+     *
+     * @param path the snapshot file
+     * @param changeCursor change log cursor the snapshot is consistent with, or null
+     * @param categoryNames category names by ID
+     * @return the writer
+     * @throws IOException if the temporary file cannot be written
+     */
+    public static Writer write(Path path, String changeCursor, Map<Long, String> categoryNames) throws IOException {
+        return new Writer(path, changeCursor, categoryNames);
+    }
+
+    /**
+     * Read a snapshot through a memory mapping.
+     *
+     * @param path the snapshot file
+     * @return the snapshot, or null if there is none
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static CatalogSnapshot read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a catalog snapshot of format version " + FORMAT_VERSION + ": " + path);
+            }
+            String changeCursor = getString(buffer);
+            LocalDateTime createdAt = getTime(buffer);
+
+            int categoryCount = buffer.getInt();
+            Map<Long, String> categoryNames = new HashMap<>(categoryCount * 2);
+            for (int i = 0; i < categoryCount; i++) {
+                categoryNames.put(buffer.getLong(), getString(buffer));
+            }
+
+            List<ProductDTO> products = new ArrayList<>();
+            byte marker;
+            while ((marker = buffer.get()) == PRODUCT) {
+                products.add(getProduct(buffer));
+            }
+            if (marker != END) {
+                throw new IOException("Corrupt catalog snapshot: " + path);
+            }
+            return new CatalogSnapshot(changeCursor, createdAt, categoryNames, products);
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("Truncated catalog snapshot: " + path, ex);
+        }
+    }
+
+    public String getChangeCursor() {
+        return changeCursor;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Map<Long, String> getCategoryNames() {
+        return categoryNames;
+    }
+
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+
+    private static ProductDTO getProduct(ByteBuffer buffer) {
+        return ProductDTO.builder()
+                .id(buffer.getLong())
+                .name(getString(buffer))
+                .description(getString(buffer))
+                .price(new BigDecimal(getString(buffer)))
+                .stockQuantity(buffer.getInt())
+                .categoryId(buffer.getLong())
+                .categoryName(getString(buffer))
+                .imageUrl(getString(buffer))
+                .sku(getString(buffer))
+                .isActive(buffer.get() != 0)
+                .hotItem(buffer.get() != 0)
+                .version(getVersion(buffer))
+                .createdAt(getTime(buffer))
+                .updatedAt(getTime(buffer))
+                .build();
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Long getVersion(ByteBuffer buffer) {
+        long version = buffer.getLong();
+        return version == Long.MIN_VALUE ? null : version;
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        long micros = buffer.getLong();
+        if (micros == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Writes a snapshot to a temporary file and moves it into place on commit.
+     */
+    public static final class Writer implements Closeable {
+        private final Path path;
+        private final Path tempPath;
+        private final DataOutputStream out;
+        private boolean committed;
+
+        private Writer(Path path, String changeCursor, Map<Long, String> categoryNames) throws IOException {
+            this.path = path;
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            OutputStream file = Files.newOutputStream(tempPath);
+            this.out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            putString(changeCursor);
+            putTime(LocalDateTime.now());
+            out.writeInt(categoryNames.size());
+            for (Map.Entry<Long, String> category : categoryNames.entrySet()) {
+                out.writeLong(category.getKey());
+                putString(category.getValue());
+            }
+        }
+
+        /**
+         * Append a product.
+         *
+         * @param product the product DTO
+         * @throws IOException if the write fails
+         */
+        public void append(ProductDTO product) throws IOException {
+            out.writeByte(PRODUCT);
+            out.writeLong(product.getId());
+            putString(product.getName());
+            putString(product.getDescription());
+            putString(product.getPrice().toPlainString());
+            out.writeInt(product.getStockQuantity());
+            out.writeLong(product.getCategoryId());
+            putString(product.getCategoryName());
+            putString(product.getImageUrl());
+            putString(product.getSku());
+            out.writeBoolean(Boolean.TRUE.equals(product.getIsActive()));
+            out.writeBoolean(Boolean.TRUE.equals(product.getHotItem()));
+            out.writeLong(product.getVersion() == null ? Long.MIN_VALUE : product.getVersion());
+            putTime(product.getCreatedAt());
+            putTime(product.getUpdatedAt());
+        }
+
+        /**
+         * Finish the file, force it to disk and replace the previous snapshot.
+         *
+         * @throws IOException if the file cannot be completed or moved
+         */
+        public void commit() throws IOException {
+            out.writeByte(END);
+            out.flush();
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            out.close();
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        /**
+         * Discard the temporary file unless the snapshot was committed.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(tempPath);
+            }
+        }
+
+        private void putString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void putTime(LocalDateTime time) throws IOException {
+            if (time == null) {
+                out.writeLong(Long.MIN_VALUE);
+                return;
+            }
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1000);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.event.CategoriesChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache of category names keyed by category ID, used when mapping a single product on a cache miss.
+ * Entries are invalidated after the transaction that modified the category commits.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class CategoryNameCache {
+
+    private static final String CACHE_NAME = "categoryNames";
+
+    private final Cache<Long, String> cache;
+
+    public CategoryNameCache(MeterRegistry meterRegistry,
+                             @Value("${product.cache.category-maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get a category name, loading it on a miss.
+     * A null name (unknown category) is returned but not cached.
+     *
+     * @param id the category ID
+     * @param loader function loading the name from the database
+     * @return category name, or null
+     */
+    public String get(Long id, Function<Long, String> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Put category names into the cache.
+     *
+     * @param names category names by ID
+     */
+    public void putAll(Map<Long, String> names) {
+        cache.putAll(names);
+    }
+
+    /**
+     * Remove several categories from the cache.
+     *
+     * @param ids the category IDs
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    /**
+     * Invalidate changed categories once the writing transaction has committed.
+     *
+     * @param event the categories changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        log.debug("Invalidating {} cached category names", event.getCategoryIds().size());
+        cache.invalidateAll(event.getCategoryIds());
+    }
+}
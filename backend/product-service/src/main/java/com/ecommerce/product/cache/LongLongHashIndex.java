@@ -0,0 +1,154 @@
+package com.ecommerce.product.cache;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from positive long keys to long values, backed by two primitive arrays.
+ * Uses linear probing with backward-shift deletion, so there are no tombstones and no boxing, and the
+ * garbage collector sees two arrays regardless of the number of entries.
+ *
+ * <p>Not thread-safe; callers synchronize.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class LongLongHashIndex {
+
+    /** Value returned for missing keys. */
+    public static final long MISSING = -1L;
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Create an index sized for the expected number of entries.
+     *
+     * @param expectedSize expected number of entries
+     */
+    public LongLongHashIndex(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * Look up a key.
+     *
+     * @param key the key, must be positive
+     * @return the value, or {@link #MISSING}
+     */
+    public long get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Insert or replace a mapping.
+     *
+     * @param key the key, must be positive
+     * @param value the value
+     * @return the previous value, or {@link #MISSING}
+     */
+    public long put(long key, long value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive");
+        }
+        if (size + 1 > (mask + 1) / 2) {
+            resize();
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Remove a mapping.
+     *
+     * @param key the key
+     * @return the removed value, or {@link #MISSING}
+     */
+    public long remove(long key) {
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+        long removed = values[slot];
+
+        // Shift back following entries of the probe chain so lookups never stop at the hole
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = 0;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Remove all mappings.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new long[tableSize];
+        mask = tableSize - 1;
+    }
+
+    private static int tableSize(int expectedSize) {
+        return Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+    }
+}
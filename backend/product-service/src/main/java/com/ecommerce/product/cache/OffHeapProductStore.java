@@ -0,0 +1,411 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductDTO;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Product store kept outside the Java heap in direct byte buffers.
+ * Records are appended to fixed-size segments used as a ring: when the ring is full, the oldest
+ * segment is recycled and the products still pointing into it are dropped, so memory is bounded and
+ * there is no compaction. A {@link LongLongHashIndex} maps each product ID to the segment and offset
+ * of its latest record.
+ *
+ * <p>The segments are split into shards by product ID, each with its own ring, index and read-write
+ * lock, so a write or a segment recycle only blocks the readers of one shard.</p>
+ *
+ * <p>Record layout: length, id, storedAt, unscaled price, price scale, stock, categoryId, flags,
+ * createdAt and updatedAt in epoch microseconds, version, then name, description, category name, image URL and
+ * SKU as length-prefixed UTF-8. Reads decode straight into the returned DTO through a per-thread
+ * scratch array, so a hit allocates nothing but the response.</p>
+ *
+ * <p>Every invalidation bumps a generation counter for the ID's stripe. Loads capture the generation
+ * before reading the database and are not stored if it changed, so a load racing with a write cannot
+ * put stale data back.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class OffHeapProductStore {
+
+    private static final int HEADER = 4 + 8 + 8 + 8 + 1 + 4 + 8 + 1 + 8 + 8 + 8;
+    private static final byte ACTIVE = 1;
+    private static final byte HOT_ITEM = 1 << 1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+    private static final int STRIPES = 1024;
+    private static final int MAX_SHARDS = 16;
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[1024]);
+
+    private final Shard[] shards;
+    private final int segmentSize;
+    private final long ttlMillis;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    /**
+     * Create an empty store. Segments are allocated on first use.
+     *
+     * @param capacityBytes total off-heap bytes, rounded down to whole segments (at least two per shard)
+     * @param segmentSize bytes per segment
+     * @param ttlMillis time after which a stored product is treated as missing
+     */
+    public OffHeapProductStore(long capacityBytes, int segmentSize, long ttlMillis) {
+        int count = (int) Math.min(Integer.MAX_VALUE, Math.max(2, capacityBytes / segmentSize));
+        // A power of two up to MAX_SHARDS, leaving every shard at least two segments for its ring
+        int shardCount = Math.min(MAX_SHARDS, Integer.highestOneBit(count / 2));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(count / shardCount);
+        }
+        this.segmentSize = segmentSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Read a product.
+     *
+     * @param id the product ID
+     * @return the product, or null if it is not stored or has expired
+     */
+    public ProductDTO get(long id) {
+        Shard shard = shardOf(id);
+        shard.lock.readLock().lock();
+        try {
+            long address = shard.index.get(id);
+            if (address == LongLongHashIndex.MISSING) {
+                return null;
+            }
+            ByteBuffer segment = shard.segments[(int) (address >>> 32)];
+            int pos = (int) address;
+            if (System.currentTimeMillis() - segment.getLong(pos + 12) > ttlMillis) {
+                return null;
+            }
+            return decode(segment, pos);
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Generation of a product's stripe, to be passed to {@link #putIfUnchanged} after a load.
+     *
+     * @param id the product ID
+     * @return the current generation
+     */
+    public long generation(long id) {
+        return generations.get(stripe(id));
+    }
+
+    /**
+     * Store a loaded product unless its stripe was invalidated since the load started.
+     *
+     * @param product the product DTO
+     * @param generation generation returned by {@link #generation(long)} before the load
+     * @return true if the product was stored
+     */
+    public boolean putIfUnchanged(ProductDTO product, long generation) {
+        byte[][] strings = encodeStrings(product);
+        if (strings == null) {
+            invalidateUnstorable(product);
+            return false;
+        }
+        Shard shard = shardOf(product.getId());
+        shard.lock.writeLock().lock();
+        try {
+            if (generations.get(stripe(product.getId())) != generation) {
+                return false;
+            }
+            return shard.write(product, strings);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Store a product unconditionally.
+     *
+     * @param product the product DTO
+     * @return false if the product cannot be represented in the store
+     */
+    public boolean put(ProductDTO product) {
+        byte[][] strings = encodeStrings(product);
+        if (strings == null) {
+            invalidateUnstorable(product);
+            return false;
+        }
+        Shard shard = shardOf(product.getId());
+        shard.lock.writeLock().lock();
+        try {
+            return shard.write(product, strings);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a product.
+     *
+     * @param id the product ID
+     */
+    public void invalidate(long id) {
+        Shard shard = shardOf(id);
+        shard.lock.writeLock().lock();
+        try {
+            generations.incrementAndGet(stripe(id));
+            shard.index.remove(id);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all products. Allocated segments are kept for reuse.
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        for (Shard shard : shards) {
+            shard.lock.writeLock().lock();
+            try {
+                shard.index.clear();
+                Arrays.fill(shard.segmentEnds, 0);
+                shard.writeSegment = 0;
+            } finally {
+                shard.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                size += shard.index.size();
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Off-heap bytes currently allocated.
+     *
+     * @return allocated bytes
+     */
+    public long allocatedBytes() {
+        long allocated = 0;
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                for (ByteBuffer segment : shard.segments) {
+                    if (segment != null) {
+                        allocated += segment.capacity();
+                    }
+                }
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        return allocated;
+    }
+
+    private static ProductDTO decode(ByteBuffer segment, int pos) {
+        byte flags = segment.get(pos + 41);
+        long version = segment.getLong(pos + 58);
+        int offset = pos + HEADER;
+        String name = readString(segment, offset);
+        offset = skipString(segment, offset);
+        String description = readString(segment, offset);
+        offset = skipString(segment, offset);
+        String categoryName = readString(segment, offset);
+        offset = skipString(segment, offset);
+        String imageUrl = readString(segment, offset);
+        offset = skipString(segment, offset);
+        String sku = readString(segment, offset);
+        return ProductDTO.builder()
+                .id(segment.getLong(pos + 4))
+                .name(name)
+                .description(description)
+                .price(BigDecimal.valueOf(segment.getLong(pos + 20), segment.get(pos + 28)))
+                .stockQuantity(segment.getInt(pos + 29))
+                .categoryId(segment.getLong(pos + 33))
+                .categoryName(categoryName)
+                .imageUrl(imageUrl)
+                .sku(sku)
+                .isActive((flags & ACTIVE) != 0)
+                .hotItem((flags & HOT_ITEM) != 0)
+                .version(version == NO_VERSION ? null : version)
+                .createdAt(time(segment.getLong(pos + 42)))
+                .updatedAt(time(segment.getLong(pos + 50)))
+                .build();
+    }
+
+    private static String readString(ByteBuffer segment, int offset) {
+        int length = segment.getInt(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] scratch = SCRATCH.get();
+        if (length > scratch.length) {
+            scratch = new byte[Integer.highestOneBit(length) << 1];
+            SCRATCH.set(scratch);
+        }
+        segment.get(offset + 4, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static int skipString(ByteBuffer segment, int offset) {
+        return offset + 4 + Math.max(0, segment.getInt(offset));
+    }
+
+    /**
+     * Encode the string fields outside the lock.
+     *
+     * @return encoded strings, or null if the product cannot be stored
+     */
+    private static byte[][] encodeStrings(ProductDTO product) {
+        BigDecimal price = product.getPrice();
+        if (product.getId() == null || product.getId() <= 0 || price == null || product.getStockQuantity() == null
+                || product.getCategoryId() == null || price.scale() < 0 || price.scale() > Byte.MAX_VALUE
+                || price.unscaledValue().bitLength() > 63) {
+            return null;
+        }
+        return new byte[][] {
+                utf8(product.getName()),
+                utf8(product.getDescription()),
+                utf8(product.getCategoryName()),
+                utf8(product.getImageUrl()),
+                utf8(product.getSku())
+        };
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1000;
+    }
+
+    private static LocalDateTime time(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Never leave an older version of a product readable when the new one cannot be stored.
+     */
+    private void invalidateUnstorable(ProductDTO product) {
+        if (product.getId() != null && product.getId() > 0) {
+            invalidate(product.getId());
+        }
+    }
+
+    private Shard shardOf(long id) {
+        return shards[stripe(id) & (shards.length - 1)];
+    }
+
+    /**
+     * Ring of segments holding the products of one shard, guarded by its own lock.
+     */
+    private final class Shard {
+        private final ByteBuffer[] segments;
+        private final int[] segmentEnds;
+        private final LongLongHashIndex index = new LongLongHashIndex(1024);
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private int writeSegment;
+
+        private Shard(int count) {
+            this.segments = new ByteBuffer[count];
+            this.segmentEnds = new int[count];
+        }
+
+        private boolean write(ProductDTO product, byte[][] strings) {
+            int length = HEADER;
+            for (byte[] string : strings) {
+                length += 4 + (string == null ? 0 : string.length);
+            }
+            if (length > segmentSize) {
+                // Never leave an older version of the product readable
+                index.remove(product.getId());
+                return false;
+            }
+            if (segments[writeSegment] == null) {
+                segments[writeSegment] = ByteBuffer.allocateDirect(segmentSize);
+            }
+            if (segmentEnds[writeSegment] + length > segmentSize) {
+                writeSegment = (writeSegment + 1) % segments.length;
+                recycle(writeSegment);
+            }
+
+            ByteBuffer segment = segments[writeSegment];
+            int pos = segmentEnds[writeSegment];
+            BigDecimal price = product.getPrice();
+            segment.putInt(pos, length);
+            segment.putLong(pos + 4, product.getId());
+            segment.putLong(pos + 12, System.currentTimeMillis());
+            segment.putLong(pos + 20, price.unscaledValue().longValue());
+            segment.put(pos + 28, (byte) price.scale());
+            segment.putInt(pos + 29, product.getStockQuantity());
+            segment.putLong(pos + 33, product.getCategoryId());
+            segment.put(pos + 41, (byte) ((Boolean.TRUE.equals(product.getIsActive()) ? ACTIVE : 0)
+                    | (Boolean.TRUE.equals(product.getHotItem()) ? HOT_ITEM : 0)));
+            segment.putLong(pos + 42, micros(product.getCreatedAt()));
+            segment.putLong(pos + 50, micros(product.getUpdatedAt()));
+            segment.putLong(pos + 58, product.getVersion() == null ? NO_VERSION : product.getVersion());
+            int offset = pos + HEADER;
+            for (byte[] string : strings) {
+                if (string == null) {
+                    segment.putInt(offset, -1);
+                    offset += 4;
+                } else {
+                    segment.putInt(offset, string.length);
+                    segment.put(offset + 4, string);
+                    offset += 4 + string.length;
+                }
+            }
+            segmentEnds[writeSegment] = pos + length;
+            index.put(product.getId(), ((long) writeSegment << 32) | pos);
+            return true;
+        }
+
+        /**
+         * Make a segment the write segment again, dropping products whose latest record lives in it.
+         */
+        private void recycle(int segmentIndex) {
+            ByteBuffer segment = segments[segmentIndex];
+            if (segment == null) {
+                segments[segmentIndex] = ByteBuffer.allocateDirect(segmentSize);
+                return;
+            }
+            int pos = 0;
+            int end = segmentEnds[segmentIndex];
+            while (pos < end) {
+                long id = segment.getLong(pos + 4);
+                if (index.get(id) == (((long) segmentIndex << 32) | pos)) {
+                    index.remove(id);
+                }
+                pos += segment.getInt(pos);
+            }
+            segmentEnds[segmentIndex] = 0;
+        }
+    }
+
+    private static int stripe(long id) {
+        return (int) (id ^ (id >>> 32)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,243 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductDTO;
+import com.ecommerce.product.event.CategoriesChangedEvent;
+import com.ecommerce.product.event.ProductsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of product DTOs keyed by product ID.
+ * Backed by Caffeine, which bounds the cache by size using frequency-aware (W-TinyLFU) eviction and
+ * runs at most one load per key at a time, so concurrent misses for a hot product share one query.
+ * Entries are invalidated after the transaction that modified the product commits.
+ *
+ * <p>For very large catalogs the DTOs can be kept off-heap instead, in an {@link OffHeapProductStore}
+ * bounded by bytes, so millions of cached products do not add to garbage collection work. Concurrent
+ * misses are not coalesced in that mode.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    private static final String CACHE_NAME = "products";
+
+    private final Cache<Long, ProductDTO> cache;
+    private final OffHeapProductStore offHeapStore;
+    private final Timer loadTimer;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${product.cache.maximum-size:100000}") long maximumSize,
+                        @Value("${product.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                        @Value("${product.cache.off-heap.enabled:false}") boolean offHeap,
+                        @Value("${product.cache.off-heap.capacity:1GB}") DataSize offHeapCapacity,
+                        @Value("${product.cache.off-heap.segment-size:64MB}") DataSize offHeapSegmentSize) {
+        this.loadTimer = Timer.builder("product.cache.load")
+                .description("Time taken to load a product into the cache on a miss")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        if (offHeap) {
+            this.cache = null;
+            this.offHeapStore = new OffHeapProductStore(offHeapCapacity.toBytes(),
+                    Math.toIntExact(offHeapSegmentSize.toBytes()), expireAfterWrite.toMillis());
+            Gauge.builder("product.cache.off-heap.entries", offHeapStore, OffHeapProductStore::size)
+                    .description("Number of products in the off-heap store")
+                    .register(meterRegistry);
+            Gauge.builder("product.cache.off-heap.bytes", offHeapStore, OffHeapProductStore::allocatedBytes)
+                    .description("Direct memory allocated by the off-heap store")
+                    .register(meterRegistry);
+            Gauge.builder("product.cache.hit.rate", this, ProductCache::offHeapHitRate)
+                    .description("Ratio of product cache lookups served from the cache")
+                    .register(meterRegistry);
+            log.info("Product cache stored off-heap with capacity {}", offHeapCapacity);
+            return;
+        }
+
+        this.offHeapStore = null;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("product.cache.hit.rate", cache, c -> c.stats().hitRate())
+                .description("Ratio of product cache lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a product, loading it on a miss.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     *
+     * @param id the product ID
+     * @param loader function loading the product from the database
+     * @return product DTO
+     */
+    public ProductDTO get(Long id, Function<Long, ProductDTO> loader) {
+        if (offHeapStore == null) {
+            return cache.get(id, key -> loadTimer.record(() -> loader.apply(key)));
+        }
+        ProductDTO product = offHeapStore.get(id);
+        if (product != null) {
+            hits.increment();
+            return product;
+        }
+        misses.increment();
+        long generation = offHeapStore.generation(id);
+        product = loadTimer.record(() -> loader.apply(id));
+        offHeapStore.putIfUnchanged(product, generation);
+        return product;
+    }
+
+    /**
+     * Get several products, loading all misses with one call.
+     * Products the loader does not return are left out of the result.
+     *
+     * @param ids the product IDs
+     * @param loader function loading the missing products from the database
+     * @return product DTOs by ID
+     */
+    public Map<Long, ProductDTO> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, ProductDTO>> loader) {
+        if (offHeapStore == null) {
+            return cache.getAll(ids, keys -> loadTimer.record(() -> loader.apply(new LinkedHashSet<>(keys))));
+        }
+        Map<Long, ProductDTO> products = new HashMap<>(ids.size() * 2);
+        Map<Long, Long> generations = new LinkedHashMap<>();
+        for (Long id : ids) {
+            ProductDTO product = offHeapStore.get(id);
+            if (product != null) {
+                products.put(id, product);
+            } else {
+                generations.put(id, offHeapStore.generation(id));
+            }
+        }
+        hits.add(products.size());
+        if (generations.isEmpty()) {
+            return products;
+        }
+        misses.add(generations.size());
+        Map<Long, ProductDTO> loaded = loadTimer.record(() -> loader.apply(generations.keySet()));
+        loaded.forEach((id, product) -> {
+            offHeapStore.putIfUnchanged(product, generations.getOrDefault(id, -1L));
+            products.put(id, product);
+        });
+        return products;
+    }
+
+    /**
+     * Get a product if it is cached.
+     *
+     * @param id the product ID
+     * @return cached product DTO or null
+     */
+    public ProductDTO getIfPresent(Long id) {
+        return offHeapStore == null ? cache.getIfPresent(id) : offHeapStore.get(id);
+    }
+
+    /**
+     * Put a product into the cache.
+     *
+     * @param product the product DTO
+     */
+    public void put(ProductDTO product) {
+        if (offHeapStore == null) {
+            cache.put(product.getId(), product);
+        } else {
+            offHeapStore.put(product);
+        }
+    }
+
+    /**
+     * Remove a product from the cache.
+     *
+     * @param id the product ID
+     */
+    public void invalidate(Long id) {
+        if (offHeapStore == null) {
+            cache.invalidate(id);
+        } else {
+            offHeapStore.invalidate(id);
+        }
+    }
+
+    /**
+     * Remove several products from the cache.
+     *
+     * @param ids the product IDs
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        if (offHeapStore == null) {
+            cache.invalidateAll(ids);
+        } else {
+            ids.forEach(offHeapStore::invalidate);
+        }
+    }
+
+    /**
+     * Remove all products from the cache.
+     */
+    public void invalidateAll() {
+        if (offHeapStore == null) {
+            cache.invalidateAll();
+        } else {
+            offHeapStore.invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidate changed products once the writing transaction has committed.
+     *
+     * @param event the products changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        log.debug("Invalidating {} cached products", event.getProductIds().size());
+        invalidateAll(event.getProductIds());
+    }
+
+    /**
+     * Drop all cached products when categories change, since cached DTOs embed the category name.
+     *
+     * @param event the categories changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        log.debug("Categories {} changed, clearing product cache", event.getCategoryIds());
+        invalidateAll();
+    }
+
+    private double offHeapHitRate() {
+        long lookups = hits.sum() + misses.sum();
+        return lookups == 0 ? 1.0 : (double) hits.sum() / lookups;
+    }
+}
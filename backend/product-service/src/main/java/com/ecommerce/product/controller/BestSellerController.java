@@ -0,0 +1,48 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.TopSellerDTO;
+import com.ecommerce.product.ranking.BestSellerWindow;
+import com.ecommerce.product.service.BestSellerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for best-seller rankings.
+ * Rankings are served from in-memory sketches and may lag committed orders by a few seconds.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/products/top-sellers")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Best Seller", description = "Best-seller ranking APIs")
+public class BestSellerController {
+
+    private final BestSellerService bestSellerService;
+
+    /**
+     * Get the best-selling products of a window.
+     *
+     * @param window the time window
+     * @param categoryId optional category ID; includes its subcategories
+     * @param limit maximum number of products
+     * @return ranked products
+     */
+    @GetMapping
+    @Operation(summary = "Get top sellers", description = "Get the best-selling products overall or in a category subtree")
+    public ResponseEntity<List<TopSellerDTO>> getTopSellers(
+            @RequestParam(defaultValue = "DAY") BestSellerWindow window,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/v1/products/top-sellers - window: {}, categoryId: {}, limit: {}", window, categoryId, limit);
+        return ResponseEntity.ok(bestSellerService.getTopSellers(window, categoryId, limit));
+    }
+}
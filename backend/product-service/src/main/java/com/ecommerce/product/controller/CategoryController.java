@@ -1,7 +1,9 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.cache.CatalogVersion;
 import com.ecommerce.product.dto.CategoryDTO;
 import com.ecommerce.product.dto.CreateCategoryRequest;
+import com.ecommerce.product.dto.MoveCategoryRequest;
 import com.ecommerce.product.dto.UpdateCategoryRequest;
 import com.ecommerce.product.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,12 +14,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * REST Controller for Category management.
  * Provides endpoints for category CRUD operations.
+ * Category reads answer conditional requests with ETags derived from the category version.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -30,32 +35,48 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final ConditionalResponder conditionalResponder;
+    private final CatalogVersion catalogVersion;
 
     /**
      * Get all categories.
+     * The result is capped; use the streaming variant for very large catalogs.
      *
-     * @return list of all categories
+     * @param request the current request
+     * @return list of all categories, or 304 if the categories have not changed since the client's copy
      */
     @GetMapping
-    @Operation(summary = "Get all categories", description = "Get all product categories")
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
+    @Operation(summary = "Get all categories", description = "Get all product categories; returns a capped number of results")
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(WebRequest request) {
         log.info("GET /api/v1/categories");
-        List<CategoryDTO> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        return conditionalResponder.respond(request, catalogVersion.categories(), categoryService::getAllCategories);
+    }
+
+    /**
+     * Stream all categories as a JSON array.
+     *
+     * @return streamed JSON array of categories
+     */
+    @GetMapping("/stream")
+    @Operation(summary = "Stream all categories", description = "Stream all product categories as a JSON array")
+    public ResponseEntity<StreamingResponseBody> streamAllCategories() {
+        log.info("GET /api/v1/categories/stream");
+        return jsonArrayStreamer.stream(categoryService::streamAllCategories);
     }
 
     /**
      * Get a category by ID.
      *
      * @param id the category ID
-     * @return category details
+     * @param request the current request
+     * @return category details, or 304 if the categories have not changed since the client's copy
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Get a single category by its ID")
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/v1/categories/{}", id);
-        CategoryDTO category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(category);
+        return conditionalResponder.respond(request, catalogVersion.categories(), () -> categoryService.getCategoryById(id));
     }
 
     /**
@@ -91,6 +112,37 @@ public class CategoryController {
         return ResponseEntity.ok(category);
     }
 
+    /**
+     * Move a category under a new parent.
+     * Admin only operation.
+     *
+     * @param id the category ID
+     * @param request the move request; a null parent makes the category a root
+     * @return moved category
+     */
+    @PutMapping("/{id}/parent")
+    @Operation(summary = "Move category", description = "Move a category and its subcategories under a new parent (Admin only)")
+    public ResponseEntity<CategoryDTO> moveCategory(
+            @PathVariable Long id,
+            @RequestBody MoveCategoryRequest request) {
+        log.info("PUT /api/v1/categories/{}/parent - parentId: {}", id, request.getParentId());
+        CategoryDTO category = categoryService.moveCategory(id, request);
+        return ResponseEntity.ok(category);
+    }
+
+    /**
+     * Recount the products of all categories.
+     * Admin only operation.
+     *
+     * @return categories with rebuilt counts
+     */
+    @PostMapping("/product-counts/rebuild")
+    @Operation(summary = "Rebuild product counts", description = "Recount the products of all categories from scratch (Admin only)")
+    public ResponseEntity<List<CategoryDTO>> rebuildProductCounts() {
+        log.info("POST /api/v1/categories/product-counts/rebuild");
+        return ResponseEntity.ok(categoryService.rebuildProductCounts());
+    }
+
     /**
      * Delete a category.
      * Admin only operation.
@@ -0,0 +1,64 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ProductDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GET requests.
+ * Compares the request's If-None-Match header with a strong entity tag computed before the body is
+ * built, and returns 304 Not Modified without building the body when they match. Both responses carry
+ * a Cache-Control header telling browsers and the gateway to keep the body and revalidate it.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+public class ConditionalResponder {
+
+    private final CacheControl cacheControl;
+
+    public ConditionalResponder(@Value("${product.http.max-age:PT0S}") Duration maxAge) {
+        this.cacheControl = maxAge.isZero()
+                ? CacheControl.noCache().cachePublic()
+                : CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Build a response for a resource with the given entity tag.
+     * The ETag header is set on the response by the If-None-Match check.
+     *
+     * @param request the current request
+     * @param etag the entity tag of the current representation, without quotes
+     * @param body supplies the body if the client's copy is outdated
+     * @param <T> body type
+     * @return 200 with the body, or 304 without it
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+    }
+
+    /**
+     * Entity tag of a single product.
+     * Derived from the version, plus the stock (which for hot items changes without a version bump) and
+     * the embedded category name (which changes with the category).
+     *
+     * @param product the product DTO
+     * @return entity tag without quotes
+     */
+    public String productETag(ProductDTO product) {
+        return product.getId() + "-" + product.getVersion() + "-" + product.getStockQuantity() + "-"
+                + Integer.toHexString(Objects.hashCode(product.getCategoryName()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.InventoryMovementDTO;
+import com.ecommerce.product.dto.InventoryReconciliationDTO;
+import com.ecommerce.product.dto.StockLevelDTO;
+import com.ecommerce.product.dto.StockRequest;
+import com.ecommerce.product.service.HotStockService;
+import com.ecommerce.product.service.InventoryLedgerService;
+import com.ecommerce.product.service.InventoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for product inventory.
+ * Provides endpoints for stock reservations, receipts, the inventory ledger and hot-item inventory mode.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory", description = "Product inventory APIs")
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+    private final HotStockService hotStockService;
+    private final InventoryLedgerService inventoryLedgerService;
+
+    /**
+     * Get the current stock level of a product.
+     *
+     * @param id the product ID
+     * @return stock level
+     */
+    @GetMapping("/{id}/stock")
+    @Operation(summary = "Get stock level", description = "Get the current available stock of a product")
+    public ResponseEntity<StockLevelDTO> getStockLevel(@PathVariable Long id) {
+        log.info("GET /api/v1/products/{}/stock", id);
+        return ResponseEntity.ok(inventoryService.getStockLevel(id));
+    }
+
+    /**
+     * Reserve stock of a product.
+     *
+     * @param id the product ID
+     * @param request the stock request
+     * @return stock level after the reservation
+     */
+    @PostMapping("/{id}/stock/reserve")
+    @Operation(summary = "Reserve stock", description = "Take stock of a product if enough is available")
+    public ResponseEntity<StockLevelDTO> reserveStock(@PathVariable Long id, @Valid @RequestBody StockRequest request) {
+        log.info("POST /api/v1/products/{}/stock/reserve - quantity: {}", id, request.getQuantity());
+        return ResponseEntity.ok(inventoryService.reserveStock(id, request.getQuantity()));
+    }
+
+    /**
+     * Release previously reserved stock of a product.
+     *
+     * @param id the product ID
+     * @param request the stock request
+     * @return stock level after the release
+     */
+    @PostMapping("/{id}/stock/release")
+    @Operation(summary = "Release stock", description = "Return previously reserved stock of a product")
+    public ResponseEntity<StockLevelDTO> releaseStock(@PathVariable Long id, @Valid @RequestBody StockRequest request) {
+        log.info("POST /api/v1/products/{}/stock/release - quantity: {}", id, request.getQuantity());
+        return ResponseEntity.ok(inventoryService.releaseStock(id, request.getQuantity()));
+    }
+
+    /**
+     * Receive new stock of a product.
+     * Admin only operation.
+     *
+     * @param id the product ID
+     * @param request the stock request
+     * @return stock level after the receipt
+     */
+    @PostMapping("/{id}/stock/receive")
+    @Operation(summary = "Receive stock", description = "Add delivered stock to a product (Admin only)")
+    public ResponseEntity<StockLevelDTO> receiveStock(@PathVariable Long id, @Valid @RequestBody StockRequest request) {
+        log.info("POST /api/v1/products/{}/stock/receive - quantity: {}", id, request.getQuantity());
+        return ResponseEntity.ok(inventoryService.receiveStock(id, request.getQuantity(), null));
+    }
+
+    /**
+     * Get the inventory ledger movements of a product, newest first.
+     *
+     * @param id the product ID
+     * @param page page number (default: 0)
+     * @param size page size (default: 20)
+     * @return page of movements
+     */
+    @GetMapping("/{id}/stock/movements")
+    @Operation(summary = "Get stock movements", description = "Get the inventory ledger of a product, newest first")
+    public ResponseEntity<Page<InventoryMovementDTO>> getMovements(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/v1/products/{}/stock/movements - page: {}, size: {}", id, page, size);
+        return ResponseEntity.ok(inventoryLedgerService.getMovements(id, page, size));
+    }
+
+    /**
+     * Compare a product's stock with the stock derived from its inventory ledger.
+     * Admin only operation.
+     *
+     * @param id the product ID
+     * @return reconciliation result
+     */
+    @GetMapping("/{id}/stock/reconciliation")
+    @Operation(summary = "Reconcile stock", description = "Compare stored stock with the inventory ledger (Admin only)")
+    public ResponseEntity<InventoryReconciliationDTO> reconcile(@PathVariable Long id) {
+        log.info("GET /api/v1/products/{}/stock/reconciliation", id);
+        return ResponseEntity.ok(inventoryLedgerService.reconcile(id));
+    }
+
+    /**
+     * Switch a product to hot-item inventory mode.
+     * Admin only operation.
+     *
+     * @param id the product ID
+     * @return stock level
+     */
+    @PutMapping("/{id}/hot-item")
+    @Operation(summary = "Enable hot-item mode", description = "Hold the product's stock in in-memory counters (Admin only)")
+    public ResponseEntity<StockLevelDTO> enableHotItem(@PathVariable Long id) {
+        log.info("PUT /api/v1/products/{}/hot-item", id);
+        hotStockService.enable(id);
+        return ResponseEntity.ok(inventoryService.getStockLevel(id));
+    }
+
+    /**
+     * Switch a product back to database inventory mode.
+     * Admin only operation.
+     *
+     * @param id the product ID
+     * @return stock level
+     */
+    @DeleteMapping("/{id}/hot-item")
+    @Operation(summary = "Disable hot-item mode", description = "Flush in-memory stock and return the product to database inventory (Admin only)")
+    public ResponseEntity<StockLevelDTO> disableHotItem(@PathVariable Long id) {
+        log.info("DELETE /api/v1/products/{}/hot-item", id);
+        hotStockService.disable(id);
+        return ResponseEntity.ok(inventoryService.getStockLevel(id));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.CreateHoldsRequest;
+import com.ecommerce.product.dto.InventoryHoldDTO;
+import com.ecommerce.product.service.InventoryHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for inventory holds.
+ * Provides endpoints to hold stock for a reference and to commit or release it.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/products/holds")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory Hold", description = "Inventory hold APIs")
+public class InventoryHoldController {
+
+    private final InventoryHoldService inventoryHoldService;
+
+    /**
+     * Get the holds of a reference.
+     *
+     * @param referenceId the reference ID
+     * @return list of holds
+     */
+    @GetMapping("/{referenceId}")
+    @Operation(summary = "Get holds", description = "Get all inventory holds of a reference")
+    public ResponseEntity<List<InventoryHoldDTO>> getHolds(@PathVariable String referenceId) {
+        log.info("GET /api/v1/products/holds/{}", referenceId);
+        return ResponseEntity.ok(inventoryHoldService.getHolds(referenceId));
+    }
+
+    /**
+     * Place holds for a reference.
+     *
+     * @param request the create holds request
+     * @return created holds
+     */
+    @PostMapping
+    @Operation(summary = "Create holds", description = "Reserve stock for all items of a reference until the hold expires")
+    public ResponseEntity<List<InventoryHoldDTO>> createHolds(@Valid @RequestBody CreateHoldsRequest request) {
+        log.info("POST /api/v1/products/holds - referenceId: {}", request.getReferenceId());
+        List<InventoryHoldDTO> holds = inventoryHoldService.createHolds(request);
+        return new ResponseEntity<>(holds, HttpStatus.CREATED);
+    }
+
+    /**
+     * Commit the holds of a reference.
+     *
+     * @param referenceId the reference ID
+     * @return committed holds
+     */
+    @PostMapping("/{referenceId}/commit")
+    @Operation(summary = "Commit holds", description = "Make the held stock of a reference permanent")
+    public ResponseEntity<List<InventoryHoldDTO>> commitHolds(@PathVariable String referenceId) {
+        log.info("POST /api/v1/products/holds/{}/commit", referenceId);
+        return ResponseEntity.ok(inventoryHoldService.commitHolds(referenceId));
+    }
+
+    /**
+     * Release the holds of a reference.
+     *
+     * @param referenceId the reference ID
+     * @return released holds
+     */
+    @PostMapping("/{referenceId}/release")
+    @Operation(summary = "Release holds", description = "Return the held stock of a reference")
+    public ResponseEntity<List<InventoryHoldDTO>> releaseHolds(@PathVariable String referenceId) {
+        log.info("POST /api/v1/products/holds/{}/release", referenceId);
+        return ResponseEntity.ok(inventoryHoldService.releaseHolds(referenceId));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ProductChangePage;
+import com.ecommerce.product.service.ProductChangeFeedService;
+import com.ecommerce.product.service.ProductChangeStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for the product change feed.
+ * Lets catalog mirrors fetch what changed since a cursor instead of re-reading every product.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/products/changes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Product Change Feed", description = "Product change feed APIs")
+public class ProductChangeFeedController {
+
+    private final ProductChangeFeedService productChangeFeedService;
+    private final ProductChangeStreamService productChangeStreamService;
+
+    /**
+     * Get the next page of product changes.
+     *
+     * @param cursor cursor returned by the previous page (optional)
+     * @param limit maximum number of changes (default 100)
+     * @return page of changes with the next cursor
+     */
+    @GetMapping
+    @Operation(summary = "Get product changes", description = "Get product changes after a cursor in commit order")
+    public ResponseEntity<ProductChangePage> getChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/v1/products/changes - cursor: {}, limit: {}", cursor, limit);
+        ProductChangePage page = productChangeFeedService.readChanges(cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Stream product changes as Server-Sent Events.
+     * The Last-Event-ID header sent by reconnecting clients takes precedence over the cursor parameter.
+     *
+     * @param cursor cursor to start after (optional)
+     * @param lastEventId ID of the last event received before a reconnect (optional)
+     * @return SSE stream of changes
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream product changes", description = "Stream product changes as Server-Sent Events, resumable via Last-Event-ID")
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        String from = lastEventId != null ? lastEventId : cursor;
+        log.info("GET /api/v1/products/changes/stream - cursor: {}", from);
+        return productChangeStreamService.subscribe(from);
+    }
+}
@@ -1,8 +1,14 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.cache.CatalogVersion;
+import com.ecommerce.product.dto.BulkProductUpdateRequest;
+import com.ecommerce.product.dto.BulkProductUpdateResult;
 import com.ecommerce.product.dto.CreateProductRequest;
 import com.ecommerce.product.dto.ProductDTO;
+import com.ecommerce.product.dto.ProductImportResult;
 import com.ecommerce.product.dto.UpdateProductRequest;
+import com.ecommerce.product.service.ProductBulkUpdateService;
+import com.ecommerce.product.service.ProductImportService;
 import com.ecommerce.product.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,16 +16,23 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
 /**
  * REST Controller for Product management.
  * Provides endpoints for product CRUD operations, search, and filtering.
+ * Product reads and lists answer conditional requests with ETags, so unchanged bodies are not resent.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -32,6 +45,11 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductBulkUpdateService productBulkUpdateService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final ConditionalResponder conditionalResponder;
+    private final CatalogVersion catalogVersion;
 
     /**
      * Get all products with optional filters and pagination.
@@ -45,7 +63,8 @@ public class ProductController {
      * @param size page size (default 10)
      * @param sortBy field to sort by (default "id")
      * @param sortDir sort direction (default "asc")
-     * @return page of products
+     * @param request the current request
+     * @return page of products, or 304 if the products have not changed since the client's copy
      */
     @GetMapping
     @Operation(summary = "Get all products", description = "Get all products with pagination, filtering and sorting")
@@ -58,55 +77,86 @@ public class ProductController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
         log.info("GET /api/v1/products - keyword: {}, categoryId: {}, page: {}, size: {}",
                 keyword, categoryId, page, size);
 
-        Page<ProductDTO> products = productService.getAllProducts(
-                keyword, categoryId, minPrice, maxPrice, inStock, page, size, sortBy, sortDir);
-        return ResponseEntity.ok(products);
+        return conditionalResponder.respond(request, catalogVersion.products(), () -> productService.getAllProducts(
+                keyword, categoryId, minPrice, maxPrice, inStock, page, size, sortBy, sortDir));
     }
 
     /**
      * Get a product by ID.
      *
      * @param id the product ID
-     * @return product details
+     * @param request the current request
+     * @return product details, or 304 if the product has not changed since the client's copy
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Get a single product by its ID")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/v1/products/{}", id);
         ProductDTO product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        return conditionalResponder.respond(request, conditionalResponder.productETag(product), () -> product);
     }
 
     /**
      * Search products by keyword.
+     * The result is capped; use the paged listing or the streaming variant for large results.
      *
      * @param keyword the search keyword
-     * @return list of matching products
+     * @param request the current request
+     * @return list of matching products, or 304 if the products have not changed since the client's copy
      */
     @GetMapping("/search")
-    @Operation(summary = "Search products", description = "Search products by keyword in name")
-    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam String keyword) {
+    @Operation(summary = "Search products", description = "Search products by keyword in name; returns a capped number of results")
+    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam String keyword, WebRequest request) {
         log.info("GET /api/v1/products/search?keyword={}", keyword);
-        List<ProductDTO> products = productService.searchProducts(keyword);
-        return ResponseEntity.ok(products);
+        return conditionalResponder.respond(request, catalogVersion.products(), () -> productService.searchProducts(keyword));
+    }
+
+    /**
+     * Stream all products matching a keyword as a JSON array.
+     *
+     * @param keyword the search keyword
+     * @return streamed JSON array of matching products
+     */
+    @GetMapping("/search/stream")
+    @Operation(summary = "Stream product search", description = "Stream all products matching a keyword as a JSON array")
+    public ResponseEntity<StreamingResponseBody> streamSearchProducts(@RequestParam String keyword) {
+        log.info("GET /api/v1/products/search/stream?keyword={}", keyword);
+        return jsonArrayStreamer.<ProductDTO>stream(action -> productService.streamSearchProducts(keyword, action));
     }
 
     /**
      * Get products by category ID.
+     * The result is capped; use the paged listing or the streaming variant for large categories.
      *
      * @param categoryId the category ID
-     * @return list of products in the category
+     * @param request the current request
+     * @return list of products in the category, or 304 if the products have not changed since the client's copy
      */
     @GetMapping("/category/{categoryId}")
-    @Operation(summary = "Get products by category", description = "Get all products in a specific category")
-    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable Long categoryId) {
+    @Operation(summary = "Get products by category", description = "Get products in a specific category; returns a capped number of results")
+    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable Long categoryId, WebRequest request) {
         log.info("GET /api/v1/products/category/{}", categoryId);
-        List<ProductDTO> products = productService.getProductsByCategory(categoryId);
-        return ResponseEntity.ok(products);
+        return conditionalResponder.respond(request, catalogVersion.products(),
+                () -> productService.getProductsByCategory(categoryId));
+    }
+
+    /**
+     * Stream all products of a category as a JSON array.
+     *
+     * @param categoryId the category ID
+     * @return streamed JSON array of products in the category
+     */
+    @GetMapping("/category/{categoryId}/stream")
+    @Operation(summary = "Stream products by category", description = "Stream all products in a specific category as a JSON array")
+    public ResponseEntity<StreamingResponseBody> streamProductsByCategory(@PathVariable Long categoryId) {
+        log.info("GET /api/v1/products/category/{}/stream", categoryId);
+        productService.requireCategory(categoryId);
+        return jsonArrayStreamer.<ProductDTO>stream(action -> productService.streamProductsByCategory(categoryId, action));
     }
 
     /**
@@ -124,6 +174,43 @@ public class ProductController {
         return new ResponseEntity<>(product, HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk import products from a CSV or NDJSON stream.
+     * Admin only operation.
+     *
+     * @param contentType the request content type, text/csv or application/x-ndjson
+     * @param body the raw request body
+     * @return import result with per-row errors
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Bulk import products", description = "Stream products from CSV or NDJSON and insert them in batches (Admin only)")
+    public ResponseEntity<ProductImportResult> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        log.info("POST /api/v1/products/import - contentType: {}", contentType);
+        ProductImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? ProductImportService.Format.CSV
+                : ProductImportService.Format.NDJSON;
+        ProductImportResult result = productImportService.importProducts(body, format);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Bulk update price, stock and active status of many products.
+     * Admin only operation.
+     *
+     * @param request the bulk update request
+     * @return bulk update result with per-item errors
+     */
+    @PatchMapping("/bulk")
+    @Operation(summary = "Bulk update products", description = "Apply price, stock and status changes to many products by ID or SKU (Admin only)")
+    public ResponseEntity<BulkProductUpdateResult> bulkUpdateProducts(@Valid @RequestBody BulkProductUpdateRequest request) {
+        log.info("PATCH /api/v1/products/bulk - items: {}", request.getItems().size());
+        BulkProductUpdateResult result = productBulkUpdateService.updateProducts(request);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Update an existing product.
      * Admin only operation.
@@ -0,0 +1,44 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.RelatedProductDTO;
+import com.ecommerce.product.service.RelatedProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for frequently-bought-together recommendations.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Related Product", description = "Frequently-bought-together APIs")
+public class RelatedProductController {
+
+    private final RelatedProductService relatedProductService;
+
+    /**
+     * Get the products most often bought together with a product.
+     *
+     * @param id the product ID
+     * @param limit maximum number of products
+     * @return related products
+     */
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get related products", description = "Get the products most often ordered together with a product")
+    public ResponseEntity<List<RelatedProductDTO>> getRelatedProducts(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/v1/products/{}/related - limit: {}", id, limit);
+        return ResponseEntity.ok(relatedProductService.getRelatedProducts(id, limit));
+    }
+}
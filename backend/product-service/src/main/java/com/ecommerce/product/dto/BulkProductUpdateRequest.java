@@ -0,0 +1,56 @@
+package com.ecommerce.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request DTO for bulk price, stock and status updates.
+ * Each item identifies a product by ID or SKU; null fields are left unchanged.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductUpdateRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 50000, message = "A bulk update must not exceed 50000 items")
+    @Valid
+    private List<Item> items;
+
+    /**
+     * A single product update.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        private Long id;
+
+        @Size(max = 50, message = "SKU must not exceed 50 characters")
+        private String sku;
+
+        @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+        private BigDecimal price;
+
+        @Min(value = 0, message = "Stock quantity must be at least 0")
+        private Integer stockQuantity;
+
+        private Boolean isActive;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk product update.
+ * Reports how many items were applied and which items were rejected.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductUpdateResult {
+    private int requestedCount;
+    private int updatedCount;
+    private int failedCount;
+    private List<ItemError> errors;
+
+    /**
+     * Error reported for a single rejected item.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemError {
+        private int index;
+        private Long id;
+        private String sku;
+        private String message;
+    }
+}
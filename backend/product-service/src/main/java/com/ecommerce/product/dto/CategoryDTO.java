@@ -22,6 +22,9 @@ public class CategoryDTO {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
+    private Long productCount;
+    private Long subtreeProductCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
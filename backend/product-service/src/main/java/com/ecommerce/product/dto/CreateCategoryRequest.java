@@ -26,4 +26,6 @@ public class CreateCategoryRequest {
 
     @Size(max = 500, message = "Description must not exceed 500 characters")
     private String description;
+
+    private Long parentId;
 }
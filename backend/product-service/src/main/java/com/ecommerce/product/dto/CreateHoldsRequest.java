@@ -0,0 +1,55 @@
+package com.ecommerce.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for placing inventory holds for a reference such as an order.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateHoldsRequest {
+
+    @NotBlank(message = "Reference ID is required")
+    @Size(max = 100, message = "Reference ID must not exceed 100 characters")
+    private String referenceId;
+
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    private Long ttlSeconds;
+
+    @NotEmpty(message = "At least one item is required")
+    @Valid
+    private List<Item> items;
+
+    /**
+     * Quantity of one product to hold.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "Product ID is required")
+        private Long productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+}
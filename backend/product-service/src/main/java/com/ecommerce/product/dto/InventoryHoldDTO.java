@@ -0,0 +1,30 @@
+package com.ecommerce.product.dto;
+
+import com.ecommerce.product.entity.HoldStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for InventoryHold.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryHoldDTO {
+    private Long id;
+    private Long productId;
+    private Integer quantity;
+    private String referenceId;
+    private HoldStatus status;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
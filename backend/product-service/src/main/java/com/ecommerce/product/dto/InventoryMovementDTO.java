@@ -0,0 +1,28 @@
+package com.ecommerce.product.dto;
+
+import com.ecommerce.product.entity.InventoryMovementType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for InventoryMovement.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovementDTO {
+    private Long id;
+    private Long productId;
+    private InventoryMovementType movementType;
+    private Integer quantity;
+    private String referenceId;
+    private LocalDateTime createdAt;
+}
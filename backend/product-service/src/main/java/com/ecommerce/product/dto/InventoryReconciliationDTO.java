@@ -0,0 +1,26 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object comparing a product's stock summary with the stock derived from its ledger.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryReconciliationDTO {
+    private Long productId;
+    private Long summaryStock;
+    private Long snapshotStock;
+    private Long snapshotSequence;
+    private Long movementsSinceSnapshot;
+    private Long ledgerStock;
+    private Boolean consistent;
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.product.dto;
+
+import com.ecommerce.product.entity.ProductChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a product change feed event.
+ * Carries the cursor to resume after this event and the current state of the product.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeDTO {
+    private String cursor;
+    private Long productId;
+    private ProductChangeType changeType;
+    private Long productVersion;
+    private LocalDateTime changedAt;
+    private ProductDTO product;
+}
@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductDTO {
@@ -30,6 +30,8 @@ public class ProductDTO {
     private String imageUrl;
     private String sku;
     private Boolean isActive;
+    private Boolean hotItem;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,25 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a ranked best-selling product.
+ * Units sold is an estimate that may exceed the true count by at most {@code maxOverestimate}.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSellerDTO {
+    private Integer rank;
+    private Long productId;
+    private Long unitsSold;
+    private Long maxOverestimate;
+    private ProductDTO product;
+}
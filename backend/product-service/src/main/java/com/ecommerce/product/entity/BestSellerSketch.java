@@ -0,0 +1,40 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted best-seller sketches of one scope (a category, or 0 for the whole catalog).
+ * The cursor is the commit sequence of the last committed hold the state includes, so counting can
+ * resume after a restart without double counting.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "best_seller_scope_sketches")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestSellerSketch {
+
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Lob
+    @Column(nullable = false)
+    private String state;
+
+    @Column(name = "cursor_sequence", nullable = false)
+    private Long cursorSequence;
+
+    @Column(name = "saved_at", nullable = false)
+    private LocalDateTime savedAt;
+}
@@ -14,7 +14,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_category_parent", columnList = "parent_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @Builder
@@ -35,6 +37,18 @@ public class Category {
     @Column(length = 500)
     private String description;
 
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Maintained with atomic increments, never written from the entity
+    @Column(name = "product_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long productCount = 0L;
+
+    @Column(name = "subtree_product_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long subtreeProductCount = 0L;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,50 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Row of the category closure table.
+ * Holds one row for every (ancestor, descendant) pair of the category tree, including each category
+ * paired with itself at depth 0, so a subtree is a single indexed lookup instead of a recursive query.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "category_closure", indexes = {
+        @Index(name = "idx_closure_descendant", columnList = "descendant_id, ancestor_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryClosure {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+    /**
+     * Composite key of a closure row.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "ancestor_id")
+        private Long ancestorId;
+
+        @Column(name = "descendant_id")
+        private Long descendantId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last sequence number handed out to a feed by the commit sequencer.
+ * The row is locked while a batch of committed entries is numbered, so numbering is serialized
+ * across instances.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "commit_sequences")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommitSequence {
+
+    @Id
+    @Column(name = "feed", length = 50)
+    private String feed;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.product.entity;
+
+/**
+ * Enum representing the status of an inventory hold.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public enum HoldStatus {
+    HELD,
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Last hot-stock journal sequence of one instance whose delta has been applied to a product's stock.
+ * Updated in the same transaction as the stock flush so journal replay after a crash is idempotent.
+ * Journal sequences are local to the instance that wrote them, so every instance keeps its own
+ * checkpoints and its journal is only ever compared against them.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "hot_stock_instance_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockCheckpoint {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Composite key of a checkpoint.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "product_id")
+        private Long productId;
+
+        @Column(name = "instance_id")
+        private String instanceId;
+    }
+}
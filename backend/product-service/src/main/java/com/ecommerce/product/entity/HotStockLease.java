@@ -0,0 +1,36 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease naming the single product-service instance that serves hot items from memory.
+ * Renewed by its owner on every flush and expired against the database clock, so instances never
+ * compare their own clocks.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "hot_stock_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockLease {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
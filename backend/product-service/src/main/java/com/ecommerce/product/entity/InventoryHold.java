@@ -0,0 +1,70 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited reservation of product stock on behalf of a reference such as an order.
+ * Stock is taken when the hold is created and returned if the hold is released or expires.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "inventory_holds", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_hold_reference_product", columnNames = {"reference_id", "product_id"})
+}, indexes = {
+        @Index(name = "idx_hold_expiry", columnList = "status, expires_at"),
+        @Index(name = "idx_hold_commit_pending", columnList = "commit_sequence, committed_at, reference_id, id"),
+        @Index(name = "idx_hold_committed", columnList = "committed_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "reference_id", nullable = false, length = 100)
+    private String referenceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HoldStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "committed_at")
+    private LocalDateTime committedAt;
+
+    /** Position in commit order, assigned by the commit sequencer after the commit. */
+    @Column(name = "commit_sequence", insertable = false, updatable = false)
+    private Long commitSequence;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry of the append-only inventory ledger.
+ * The quantity is signed: positive movements add stock, negative movements take it.
+ * Written in the same transaction as the stock change it describes and never updated afterwards,
+ * except for the commit sequence number the {@code CommitSequencer} assigns once it has committed.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "inventory_movements", indexes = {
+        @Index(name = "idx_movement_product", columnList = "product_id, id"),
+        @Index(name = "idx_movement_product_sequence", columnList = "product_id, commit_sequence"),
+        @Index(name = "idx_movement_sequence", columnList = "commit_sequence")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 20)
+    private InventoryMovementType movementType;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "reference_id", length = 100)
+    private String referenceId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "commit_sequence")
+    private Long commitSequence;
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.product.entity;
+
+/**
+ * Enum representing the kinds of inventory movements.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public enum InventoryMovementType {
+    RECEIPT,
+    RESERVATION,
+    RELEASE,
+    ADJUSTMENT
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock of a product folded from all inventory movements up to a commit sequence number.
+ * Stock at any later point is the snapshot plus the movements sequenced after {@code lastSequence}
+ * and those not sequenced yet.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "inventory_ledger_snapshots", indexes = {
+        @Index(name = "idx_snapshot_watermark", columnList = "last_sequence")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySnapshot {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "stock_quantity", nullable = false)
+    private Long stockQuantity;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
@@ -65,6 +65,10 @@ public class Product {
     @Builder.Default
     private Boolean isActive = true;
 
+    @Column(name = "is_hot_item", nullable = false)
+    @Builder.Default
+    private Boolean hotItem = false;
+
     @Version
     private Long version;
 
@@ -0,0 +1,48 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry of the append-only product change log.
+ * Written in the same transaction as the product change it describes. Its sequence number is assigned
+ * by the commit sequencer once that transaction has committed, and it is never updated afterwards.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "product_change_log", indexes = {
+        @Index(name = "idx_change_log_sequence", columnList = "sequence_number")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ProductChangeType changeType;
+
+    @Column(name = "product_version")
+    private Long productVersion;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "sequence_number")
+    private Long sequenceNumber;
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.product.entity;
+
+/**
+ * Enum representing the kind of change recorded in the product change log.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    DEACTIVATED
+}
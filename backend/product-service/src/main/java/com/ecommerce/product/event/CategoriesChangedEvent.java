@@ -0,0 +1,21 @@
+package com.ecommerce.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Application event published when one or more categories have been modified.
+ * Product data derived from category attributes (such as the category name) becomes stale.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CategoriesChangedEvent {
+    private final Collection<Long> categoryIds;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Application event published when one or more products have been modified.
+ * Listeners such as caches use it to invalidate the affected entries.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductsChangedEvent {
+    private final Collection<Long> productIds;
+}
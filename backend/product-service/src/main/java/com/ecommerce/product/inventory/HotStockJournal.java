@@ -0,0 +1,354 @@
+package com.ecommerce.product.inventory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-ahead journal of hot-stock movements.
+ * Every movement taken from a {@link StripedStockCounter} is appended as a "sequence,productId,delta"
+ * line before it is acknowledged, and pending deltas are aggregated per product until they are
+ * flushed to the database. After a crash the entries that were not yet flushed are replayed.
+ *
+ * <p>Appends are group-committed: callers queue their movement on a lock-free queue and wait, while a
+ * single writer thread numbers everything queued so far, writes it with one call and, with fsync
+ * enabled, forces it to disk once for the whole batch. Callers therefore never contend on a lock, and
+ * a batch grows while the previous one is being written, so fsync costs are shared under load.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Slf4j
+public class HotStockJournal implements Closeable {
+
+    /** Longest the idle writer sleeps before re-checking for shutdown. */
+    private static final long IDLE_PARK_NANOS = Duration.ofMillis(100).toNanos();
+
+    private final Path path;
+    private final boolean fsync;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final FileChannel channel;
+    private final Map<Long, PendingDelta> pending = new HashMap<>();
+    private final ConcurrentLinkedQueue<Append> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean closed;
+    private long sequence;
+
+    /**
+     * Open (or create) the journal for appending and start its writer thread.
+     *
+     * @param path the journal file
+     * @param fsync whether to force every batch to disk
+     * @param lastSequence highest sequence already used
+     * @param batchSize maximum number of movements written at once
+     * @param linger how long the writer waits for a batch to fill before writing a partial one
+     * @throws IOException if the file cannot be opened
+     */
+    public HotStockJournal(Path path, boolean fsync, long lastSequence, int batchSize, Duration linger) throws IOException {
+        this.path = path;
+        this.fsync = fsync;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = linger.toNanos();
+        this.sequence = lastSequence;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writer = new Thread(this::writeLoop, "hot-stock-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Append a movement and wait until the batch it was written in is durable.
+     *
+     * @param productId the product ID
+     * @param delta units taken from stock (negative for units returned)
+     * @return sequence assigned to the movement
+     * @throws IOException if the write fails or the journal is closed
+     */
+    public long append(long productId, int delta) throws IOException {
+        if (closed) {
+            throw new IOException("Hot-stock journal is closed");
+        }
+        Append append = new Append(productId, delta);
+        queue.offer(append);
+        int size = queued.incrementAndGet();
+        if (size == 1 || size == batchSize) {
+            LockSupport.unpark(writer);
+        }
+        try {
+            return append.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Take the pending delta of a product for flushing.
+     *
+     * @param productId the product ID
+     * @return the pending delta, or null if there is nothing to flush
+     */
+    public synchronized PendingDelta drain(long productId) {
+        return pending.remove(productId);
+    }
+
+    /**
+     * Products with a pending delta.
+     *
+     * @return snapshot of the product IDs
+     */
+    public synchronized List<Long> pendingProducts() {
+        return new ArrayList<>(pending.keySet());
+    }
+
+    /**
+     * Put back a delta whose flush failed so that the next flush retries it.
+     *
+     * @param productId the product ID
+     * @param delta the delta returned by {@link #drain(long)}
+     */
+    public synchronized void restore(long productId, PendingDelta delta) {
+        pending.computeIfAbsent(productId, id -> new PendingDelta()).add(delta.getDelta(), delta.getLastSequence());
+    }
+
+    /**
+     * Truncate the journal if every appended movement has been flushed.
+     * Must only be called after the drained deltas have been committed.
+     *
+     * @throws IOException if truncation fails
+     */
+    public synchronized void truncateIfFlushed() throws IOException {
+        if (pending.isEmpty() && channel.size() > 0) {
+            channel.truncate(0);
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Write what is still queued, stop the writer and close the file.
+     * Callers must stop appending first; appends arriving afterwards fail.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Append append;
+        while ((append = queue.poll()) != null) {
+            append.result.completeExceptionally(new IOException("Hot-stock journal is closed"));
+        }
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Read all complete entries of a journal file.
+     * A torn last line left by a crash during a write is ignored.
+     *
+     * @param path the journal file
+     * @return journal entries in file order
+     * @throws IOException if reading fails
+     */
+    public static List<Entry> read(Path path) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    log.warn("Ignoring malformed hot-stock journal line: {}", line);
+                    continue;
+                }
+                try {
+                    entries.add(new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Integer.parseInt(parts[2])));
+                } catch (NumberFormatException ex) {
+                    log.warn("Ignoring malformed hot-stock journal line: {}", line);
+                }
+            }
+        }
+        return entries;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Writer thread: wait for queued movements, optionally linger for a fuller batch, then write.
+     */
+    private void writeLoop() {
+        while (!closed || queued.get() > 0) {
+            int size = queued.get();
+            if (size <= 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            if (size < batchSize && lingerNanos > 0 && !closed) {
+                LockSupport.parkNanos(this, lingerNanos);
+            }
+            writeBatch();
+        }
+    }
+
+    /**
+     * Number, write and force the next batch, then acknowledge its callers.
+     * A failed batch is cut off the file again so that a restart does not replay movements whose
+     * callers were told they failed.
+     */
+    private void writeBatch() {
+        List<Append> batch = new ArrayList<>(Math.min(queued.get(), batchSize));
+        Append append;
+        while (batch.size() < batchSize && (append = queue.poll()) != null) {
+            batch.add(append);
+        }
+        queued.addAndGet(-batch.size());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            StringBuilder lines = new StringBuilder(batch.size() * 32);
+            long seq = sequence;
+            for (Append entry : batch) {
+                entry.sequence = ++seq;
+                lines.append(entry.sequence).append(',').append(entry.productId).append(',').append(entry.delta).append('\n');
+            }
+            long start = -1;
+            try {
+                start = channel.size();
+                ByteBuffer buffer = StandardCharsets.US_ASCII.encode(lines.toString());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+            } catch (IOException ex) {
+                log.error("Failed to write {} hot-stock journal entries: {}", batch.size(), ex.getMessage());
+                discard(start);
+                for (Append entry : batch) {
+                    entry.result.completeExceptionally(ex);
+                }
+                return;
+            }
+            sequence = seq;
+            for (Append entry : batch) {
+                pending.computeIfAbsent(entry.productId, id -> new PendingDelta()).add(entry.delta, entry.sequence);
+            }
+        }
+        for (Append entry : batch) {
+            entry.result.complete(entry.sequence);
+        }
+    }
+
+    private void discard(long start) {
+        if (start < 0) {
+            return;
+        }
+        try {
+            channel.truncate(start);
+        } catch (IOException ex) {
+            log.error("Failed to discard a partly written hot-stock journal batch: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * A movement waiting for its batch to be written.
+     */
+    private static final class Append {
+        private final long productId;
+        private final int delta;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        private long sequence;
+
+        private Append(long productId, int delta) {
+            this.productId = productId;
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * Aggregated, not yet flushed delta of a product.
+     */
+    public static final class PendingDelta {
+        private long delta;
+        private long lastSequence;
+
+        private void add(long value, long seq) {
+            delta += value;
+            lastSequence = Math.max(lastSequence, seq);
+        }
+
+        public long getDelta() {
+            return delta;
+        }
+
+        public long getLastSequence() {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * A single journal entry.
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final long productId;
+        private final int delta;
+
+        public Entry(long sequence, long productId, int delta) {
+            this.sequence = sequence;
+            this.productId = productId;
+            this.delta = delta;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getProductId() {
+            return productId;
+        }
+
+        public int getDelta() {
+            return delta;
+        }
+    }
+}
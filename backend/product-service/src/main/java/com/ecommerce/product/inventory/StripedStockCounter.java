@@ -0,0 +1,147 @@
+package com.ecommerce.product.inventory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory stock counter for a single hot product, split across cache-line padded stripes.
+ * Threads start at a stripe derived from their thread ID and take stock from it with a CAS, so
+ * concurrent decrements mostly touch different cache lines and never block each other. Only when no
+ * single stripe can satisfy a request are the stripes drained and rebalanced under a lock.
+ *
+ * <p>The counter also tracks in-flight operations so it can be closed and quiesced before its
+ * final flush.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class StripedStockCounter {
+
+    /** Longs per stripe, so that each stripe sits on its own 64-byte cache line. */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Create a counter holding the given stock.
+     *
+     * @param stock initial available stock
+     * @param stripes requested number of stripes, rounded up to a power of two
+     */
+    public StripedStockCounter(long stock, int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.cells = new AtomicLongArray(count * PADDING);
+        this.mask = count - 1;
+        distribute(stock);
+    }
+
+    /**
+     * Take stock without blocking.
+     *
+     * @param quantity the quantity to take
+     * @return true if the stock was taken, false if not enough stock is available
+     */
+    public boolean tryDecrement(int quantity) {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i <= mask; i++) {
+            if (tryDecrementStripe((start + i) & mask, quantity)) {
+                return true;
+            }
+        }
+        return rebalanceAndDecrement(quantity);
+    }
+
+    /**
+     * Return stock to the counter.
+     *
+     * @param quantity the quantity to add
+     */
+    public void increment(int quantity) {
+        int stripe = (int) Thread.currentThread().getId() & mask;
+        cells.getAndAdd(stripe * PADDING, quantity);
+    }
+
+    /**
+     * Sum of all stripes. Not an atomic snapshot while decrements are running.
+     *
+     * @return currently available stock
+     */
+    public long available() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Register an in-flight operation.
+     *
+     * @return false if the counter has been closed and must not be used
+     */
+    public boolean enter() {
+        inFlight.incrementAndGet();
+        if (closed) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Complete an in-flight operation started with {@link #enter()}.
+     */
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Close the counter and wait until all in-flight operations have completed.
+     */
+    public void close() {
+        closed = true;
+        while (inFlight.get() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean tryDecrementStripe(int stripe, int quantity) {
+        int index = stripe * PADDING;
+        long current = cells.get(index);
+        while (current >= quantity) {
+            if (cells.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+            current = cells.get(index);
+        }
+        return false;
+    }
+
+    /**
+     * Slow path: gather all stripes, take the quantity if the total allows it and spread the rest again.
+     */
+    private synchronized boolean rebalanceAndDecrement(int quantity) {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += cells.getAndSet(i * PADDING, 0);
+        }
+        boolean taken = total >= quantity;
+        if (taken) {
+            total -= quantity;
+        }
+        distribute(total);
+        return taken;
+    }
+
+    private void distribute(long stock) {
+        int stripes = mask + 1;
+        long share = stock / stripes;
+        long remainder = stock % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.getAndAdd(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+}
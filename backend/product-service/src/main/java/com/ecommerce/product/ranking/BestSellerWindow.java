@@ -0,0 +1,18 @@
+package com.ecommerce.product.ranking;
+
+/**
+ * Time windows over which best sellers are ranked.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public enum BestSellerWindow {
+    /** The last 24 hours, in hourly buckets. */
+    DAY,
+    /** The last 7 days, in daily buckets. */
+    WEEK,
+    /** The last 30 days, in daily buckets. */
+    MONTH,
+    /** Everything counted since the ranking started. */
+    ALL_TIME
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.product.ranking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ring of {@link SpaceSavingSketch}es, one per fixed-size time bucket.
+ * Occurrences are counted in the bucket of their event time, and the top items of the last n buckets
+ * are answered by merging those buckets. A bucket that falls out of the ring is reused for the next
+ * period, so memory stays bounded by {@code bucketCount * capacity} counters.
+ * With a null bucket size the ring has a single, never-expiring bucket.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class SlidingTopK {
+
+    private final int capacity;
+    private final long bucketMillis;
+    private final SpaceSavingSketch[] buckets;
+    private final long[] bucketIds;
+
+    /**
+     * Create an empty ring.
+     *
+     * @param capacity counters per bucket
+     * @param bucketSize length of a bucket, or null for a single all-time bucket
+     * @param bucketCount number of buckets kept
+     */
+    public SlidingTopK(int capacity, Duration bucketSize, int bucketCount) {
+        this.capacity = capacity;
+        this.bucketMillis = bucketSize == null ? 0 : bucketSize.toMillis();
+        this.buckets = new SpaceSavingSketch[bucketSize == null ? 1 : bucketCount];
+        this.bucketIds = new long[buckets.length];
+    }
+
+    /**
+     * Count occurrences of an item at the given time.
+     * Occurrences older than the oldest bucket kept are ignored.
+     *
+     * @param item the item
+     * @param weight number of occurrences
+     * @param timeMillis event time in epoch milliseconds
+     * @return false if the occurrence was too old to be counted
+     */
+    public synchronized boolean offer(long item, long weight, long timeMillis) {
+        long id = bucketId(timeMillis);
+        int slot = Math.floorMod(id, buckets.length);
+        if (buckets[slot] != null && bucketIds[slot] > id) {
+            return false;
+        }
+        if (buckets[slot] == null || bucketIds[slot] != id) {
+            buckets[slot] = new SpaceSavingSketch(capacity);
+            bucketIds[slot] = id;
+        }
+        buckets[slot].offer(item, weight);
+        return true;
+    }
+
+    /**
+     * The items with the highest counts over the most recent buckets.
+     *
+     * @param k maximum number of items
+     * @param nowMillis current time in epoch milliseconds
+     * @param lastBuckets number of buckets to cover, including the current one
+     * @return entries by descending count
+     */
+    public synchronized List<SpaceSavingSketch.Entry> top(int k, long nowMillis, int lastBuckets) {
+        long current = bucketId(nowMillis);
+        long oldest = current - Math.min(lastBuckets, buckets.length) + 1;
+        List<SpaceSavingSketch> covered = new ArrayList<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] != null && bucketIds[i] >= oldest && bucketIds[i] <= current) {
+                covered.add(buckets[i]);
+            }
+        }
+        if (covered.isEmpty()) {
+            return List.of();
+        }
+        SpaceSavingSketch sketch = covered.size() == 1 ? covered.get(0) : SpaceSavingSketch.merge(capacity, covered);
+        return sketch.top(k);
+    }
+
+    /**
+     * Export the non-empty buckets for persistence.
+     *
+     * @return bucket states
+     */
+    public synchronized List<Bucket> export() {
+        List<Bucket> exported = new ArrayList<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == null || buckets[i].isEmpty()) {
+                continue;
+            }
+            List<SpaceSavingSketch.Entry> entries = buckets[i].entries();
+            long[] items = new long[entries.size()];
+            long[] counts = new long[entries.size()];
+            long[] errors = new long[entries.size()];
+            for (int j = 0; j < entries.size(); j++) {
+                items[j] = entries.get(j).getItem();
+                counts[j] = entries.get(j).getCount();
+                errors[j] = entries.get(j).getError();
+            }
+            exported.add(new Bucket(bucketIds[i], items, counts, errors));
+        }
+        return exported;
+    }
+
+    /**
+     * Replace the ring's contents with previously exported buckets.
+     * Buckets that no longer fit the ring are dropped.
+     *
+     * @param exported bucket states returned by {@link #export()}
+     */
+    public synchronized void restore(List<Bucket> exported) {
+        for (Bucket bucket : exported) {
+            int slot = Math.floorMod(bucket.getId(), buckets.length);
+            if (buckets[slot] != null && bucketIds[slot] >= bucket.getId()) {
+                continue;
+            }
+            List<SpaceSavingSketch.Entry> entries = new ArrayList<>(bucket.getItems().length);
+            for (int j = 0; j < bucket.getItems().length; j++) {
+                entries.add(new SpaceSavingSketch.Entry(bucket.getItems()[j], bucket.getCounts()[j], bucket.getErrors()[j]));
+            }
+            buckets[slot] = SpaceSavingSketch.restore(capacity, entries);
+            bucketIds[slot] = bucket.getId();
+        }
+    }
+
+    private long bucketId(long timeMillis) {
+        return bucketMillis == 0 ? 0 : Math.floorDiv(timeMillis, bucketMillis);
+    }
+
+    /**
+     * Persistent form of one bucket.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private long id;
+        private long[] items;
+        private long[] counts;
+        private long[] errors;
+    }
+}
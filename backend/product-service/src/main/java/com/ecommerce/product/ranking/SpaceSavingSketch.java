@@ -0,0 +1,199 @@
+package com.ecommerce.product.ranking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitter sketch over long items.
+ * Keeps at most {@code capacity} counters. An unmonitored item takes over the counter with the lowest
+ * count and inherits that count as its error, so every reported count is an upper bound of the true
+ * count and {@code count - error} is a lower bound. Any item whose true count exceeds
+ * {@code total / capacity} is guaranteed to be monitored.
+ *
+ * <p>Not thread-safe; callers synchronize.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+public final class SpaceSavingSketch {
+
+    private static final Comparator<Counter> ORDER =
+            Comparator.comparingLong((Counter c) -> c.count).thenComparingLong(c -> c.item);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ordered = new TreeSet<>(ORDER);
+
+    /**
+     * Create an empty sketch.
+     *
+     * @param capacity maximum number of monitored items
+     */
+    public SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Count occurrences of an item.
+     *
+     * @param item the item
+     * @param weight number of occurrences, must be positive
+     */
+    public void offer(long item, long weight) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += weight;
+            ordered.add(counter);
+        } else if (counters.size() < capacity) {
+            put(new Counter(item, weight, 0));
+        } else {
+            Counter evicted = ordered.pollFirst();
+            counters.remove(evicted.item);
+            put(new Counter(item, evicted.count + weight, evicted.count));
+        }
+    }
+
+    /**
+     * Lowest count a monitored item can have, which bounds the count of every unmonitored item.
+     *
+     * @return the smallest counter if the sketch is full, otherwise 0
+     */
+    public long minCount() {
+        return counters.size() < capacity ? 0 : ordered.first().count;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    /**
+     * The items with the highest counts.
+     *
+     * @param k maximum number of items
+     * @return entries by descending count
+     */
+    public List<Entry> top(int k) {
+        List<Entry> top = new ArrayList<>(Math.min(k, counters.size()));
+        Iterator<Counter> it = ordered.descendingIterator();
+        while (it.hasNext() && top.size() < k) {
+            Counter counter = it.next();
+            top.add(new Entry(counter.item, counter.count, counter.error));
+        }
+        return top;
+    }
+
+    /**
+     * All monitored items.
+     *
+     * @return entries by descending count
+     */
+    public List<Entry> entries() {
+        return top(capacity);
+    }
+
+    /**
+     * Rebuild a sketch from its entries.
+     *
+     * @param capacity maximum number of monitored items
+     * @param entries entries returned by {@link #entries()}
+     * @return the sketch
+     */
+    public static SpaceSavingSketch restore(int capacity, Collection<Entry> entries) {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        for (Entry entry : entries) {
+            if (sketch.counters.size() < capacity) {
+                sketch.put(new Counter(entry.getItem(), entry.getCount(), entry.getError()));
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Merge sketches of disjoint streams into one sketch.
+     * An item missing from a full sketch may still have been counted up to that sketch's minimum,
+     * so the minimum is added to both its count and its error to keep the bounds intact.
+     *
+     * @param capacity capacity of the merged sketch
+     * @param sketches the sketches to merge
+     * @return the merged sketch
+     */
+    public static SpaceSavingSketch merge(int capacity, Collection<SpaceSavingSketch> sketches) {
+        Map<Long, long[]> totals = new HashMap<>();
+        long minSum = 0;
+        for (SpaceSavingSketch sketch : sketches) {
+            long min = sketch.minCount();
+            minSum += min;
+            for (Counter counter : sketch.counters.values()) {
+                long[] total = totals.computeIfAbsent(counter.item, item -> new long[2]);
+                // Offset by this sketch's minimum, which is added back for every sketch below
+                total[0] += counter.count - min;
+                total[1] += counter.error - min;
+            }
+        }
+
+        List<Counter> merged = new ArrayList<>(totals.size());
+        long offset = minSum;
+        totals.forEach((item, total) -> merged.add(new Counter(item, total[0] + offset, total[1] + offset)));
+        merged.sort(ORDER.reversed());
+
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        for (int i = 0; i < merged.size() && i < capacity; i++) {
+            sketch.put(merged.get(i));
+        }
+        return sketch;
+    }
+
+    private void put(Counter counter) {
+        counters.put(counter.item, counter);
+        ordered.add(counter);
+    }
+
+    private static final class Counter {
+        private final long item;
+        private long count;
+        private final long error;
+
+        private Counter(long item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * A monitored item with its estimated count and maximum overestimation.
+     */
+    public static final class Entry {
+        private final long item;
+        private final long count;
+        private final long error;
+
+        public Entry(long item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public long getItem() {
+            return item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.BestSellerSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for persisted best-seller sketches.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Repository
+public interface BestSellerSketchRepository extends JpaRepository<BestSellerSketch, Long> {
+
+    /**
+     * Find the sketches of the given scopes and lock them for the rest of the transaction.
+     *
+     * @param scopeIds the scope IDs
+     * @return list of sketches
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BestSellerSketch s WHERE s.scopeId IN :scopeIds")
+    List<BestSellerSketch> findAllByIdForUpdate(@Param("scopeIds") Collection<Long> scopeIds);
+
+    /**
+     * Move the cursor of sketches that are behind a position, except for the given scopes.
+     * Only valid for scopes that saw no sales between their cursor and the new position.
+     *
+     * @param sequence commit sequence of the new position
+     * @param excludedScopeIds scopes to leave alone
+     * @param savedAt the save time
+     * @return number of sketches moved
+     */
+    @Modifying
+    @Query("UPDATE BestSellerSketch s SET s.cursorSequence = :sequence, s.savedAt = :savedAt " +
+           "WHERE s.cursorSequence < :sequence AND s.scopeId NOT IN :excludedScopeIds")
+    int advanceCursors(@Param("sequence") long sequence,
+                       @Param("excludedScopeIds") Collection<Long> excludedScopeIds,
+                       @Param("savedAt") LocalDateTime savedAt);
+}
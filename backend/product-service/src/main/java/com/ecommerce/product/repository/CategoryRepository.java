@@ -1,10 +1,18 @@
 package com.ecommerce.product.repository;
 
 import com.ecommerce.product.entity.Category;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Category entity.
@@ -40,4 +48,35 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @return true if exists, false otherwise
      */
     boolean existsByNameIgnoreCaseAndIdNot(String name, Long id);
+
+    /**
+     * Check if a category has subcategories.
+     *
+     * @param parentId the parent category ID
+     * @return true if at least one category has the given parent
+     */
+    boolean existsByParentId(Long parentId);
+
+    /**
+     * Find a category by ID and lock its row for the rest of the transaction.
+     *
+     * @param id the category ID
+     * @return optional category
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Category c WHERE c.id = :id")
+    Optional<Category> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Stream all categories in ID order.
+     * Rows are streamed from the driver one at a time; must be consumed inside a transaction and closed.
+     *
+     * @return stream of categories
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ProductRepository.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Category c ORDER BY c.id")
+    Stream<Category> streamAll();
 }
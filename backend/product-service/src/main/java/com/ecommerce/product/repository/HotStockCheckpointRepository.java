@@ -0,0 +1,36 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.HotStockCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for hot-stock journal checkpoints.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Repository
+public interface HotStockCheckpointRepository extends JpaRepository<HotStockCheckpoint, HotStockCheckpoint.Key> {
+
+    /**
+     * Find the checkpoints of one instance's journal.
+     *
+     * @param instanceId the instance ID
+     * @return list of checkpoints
+     */
+    List<HotStockCheckpoint> findByIdInstanceId(String instanceId);
+
+    /**
+     * Find the highest journal sequence an instance has applied for any product.
+     *
+     * @param instanceId the instance ID
+     * @return highest applied sequence, or 0 if there is none
+     */
+    @Query("SELECT COALESCE(MAX(c.lastSequence), 0) FROM HotStockCheckpoint c WHERE c.id.instanceId = :instanceId")
+    long findMaxSequence(@Param("instanceId") String instanceId);
+}
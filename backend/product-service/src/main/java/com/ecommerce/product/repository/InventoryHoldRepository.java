@@ -0,0 +1,84 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.InventoryHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for InventoryHold entity.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Repository
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long> {
+
+    /**
+     * Find all holds of a reference.
+     *
+     * @param referenceId the reference ID
+     * @return list of holds
+     */
+    List<InventoryHold> findByReferenceId(String referenceId);
+
+    /**
+     * Find all holds of a reference and lock them for the rest of the transaction.
+     *
+     * @param referenceId the reference ID
+     * @return list of holds
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM InventoryHold h WHERE h.referenceId = :referenceId")
+    List<InventoryHold> findByReferenceIdForUpdate(@Param("referenceId") String referenceId);
+
+    /**
+     * Claim a batch of expired holds for the sweeper.
+     * Walks the (status, expires_at) index, so the cost depends on the number of expired holds only.
+     * Rows locked by another sweeper instance are skipped instead of waited for.
+     *
+     * @param now the current time
+     * @param limit maximum number of holds to claim
+     * @return claimed holds, locked until the transaction ends
+     */
+    @Query(value = "SELECT * FROM inventory_holds WHERE status = 'HELD' AND expires_at <= :now " +
+                   "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<InventoryHold> claimExpiredHolds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Find committed holds following a position in commit order, oldest first.
+     * Only holds already numbered by the commit sequencer are returned, so the result is a gap-free
+     * continuation of what was read before.
+     *
+     * @param commitSequence commit sequence of the last hold already read
+     * @param pageable page size
+     * @return list of committed holds
+     */
+    List<InventoryHold> findByCommitSequenceGreaterThanOrderByCommitSequenceAsc(Long commitSequence, Pageable pageable);
+
+    /**
+     * Find the highest commit sequence handed out so far.
+     *
+     * @return the commit sequence, or null if no hold has been sequenced
+     */
+    @Query("SELECT MAX(h.commitSequence) FROM InventoryHold h")
+    Long findMaxCommitSequence();
+
+    /**
+     * Find the commit sequence of the first sequenced hold committed at or after a time.
+     * Walks the committed_at index and stops at the first match.
+     *
+     * @param since the earliest commit time
+     * @return the commit sequence, or null if no sequenced hold was committed since
+     */
+    @Query(value = "SELECT commit_sequence FROM inventory_holds WHERE committed_at >= :since " +
+                   "AND commit_sequence IS NOT NULL ORDER BY committed_at LIMIT 1", nativeQuery = true)
+    Long findFirstCommitSequenceSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.InventoryMovement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the inventory ledger.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    /**
+     * Find the movements of a product, newest first.
+     *
+     * @param productId the product ID
+     * @param pageable pagination information
+     * @return page of movements
+     */
+    Page<InventoryMovement> findByProductIdOrderByIdDesc(Long productId, Pageable pageable);
+
+    /**
+     * Sum the movements of a product sequenced after a commit sequence number or not sequenced yet.
+     *
+     * @param productId the product ID
+     * @param afterSequence commit sequence number to start after
+     * @return summed quantity, or 0 if there are no movements
+     */
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM InventoryMovement m WHERE m.productId = :productId " +
+           "AND (m.commitSequence IS NULL OR m.commitSequence > :afterSequence)")
+    long sumQuantityAfter(@Param("productId") Long productId, @Param("afterSequence") Long afterSequence);
+
+    /**
+     * Count the movements of a product sequenced after a commit sequence number or not sequenced yet.
+     *
+     * @param productId the product ID
+     * @param afterSequence commit sequence number to start after
+     * @return number of movements
+     */
+    @Query("SELECT COUNT(m) FROM InventoryMovement m WHERE m.productId = :productId " +
+           "AND (m.commitSequence IS NULL OR m.commitSequence > :afterSequence)")
+    long countAfter(@Param("productId") Long productId, @Param("afterSequence") Long afterSequence);
+}
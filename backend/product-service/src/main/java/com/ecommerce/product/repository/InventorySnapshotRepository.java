@@ -0,0 +1,15 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for inventory snapshots.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+}
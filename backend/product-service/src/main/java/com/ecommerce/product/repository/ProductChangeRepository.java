@@ -0,0 +1,36 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.ProductChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for the product change log.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    /**
+     * Find sequenced changes after the given sequence number, in sequence order.
+     *
+     * @param sequenceNumber sequence number of the cursor position
+     * @param pageable page size limit
+     * @return list of changes
+     */
+    List<ProductChange> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(Long sequenceNumber, Pageable pageable);
+
+    /**
+     * Find the highest sequence number assigned so far.
+     *
+     * @return highest sequence number, or null if no change has been sequenced yet
+     */
+    @Query("SELECT MAX(c.sequenceNumber) FROM ProductChange c")
+    Long findMaxSequenceNumber();
+}
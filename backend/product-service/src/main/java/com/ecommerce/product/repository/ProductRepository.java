@@ -1,11 +1,23 @@
 package com.ecommerce.product.repository;
 
 import com.ecommerce.product.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Product entity.
@@ -17,6 +29,13 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
+    /**
+     * Fetch size that makes MySQL Connector/J stream a result row by row instead of buffering it.
+     * Set per query, so other queries keep plain client-side result sets. No other statement may run
+     * on the connection until the stream is closed.
+     */
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
     /**
      * Find products by name containing the given text (case-insensitive).
      *
@@ -25,6 +44,29 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      */
     List<Product> findByNameContainingIgnoreCase(String name);
 
+    /**
+     * Find a bounded number of products by name containing the given text (case-insensitive).
+     *
+     * @param name the name to search for
+     * @param pageable limit and ordering
+     * @return list of matching products
+     */
+    List<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    /**
+     * Stream products by name containing the given text (case-insensitive), in ID order.
+     * Rows are streamed from the driver one at a time; must be consumed inside a transaction and closed.
+     *
+     * @param name the name to search for
+     * @return stream of matching products
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY p.id")
+    Stream<Product> streamByNameContaining(@Param("name") String name);
+
     /**
      * Find all products in a specific category.
      *
@@ -33,6 +75,45 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      */
     List<Product> findByCategoryId(Long categoryId);
 
+    /**
+     * Find a bounded number of products in a category or any of its subcategories.
+     *
+     * @param categoryId the root category ID
+     * @param pageable limit and ordering
+     * @return list of products in the category subtree
+     */
+    @Query("SELECT p FROM Product p WHERE p.categoryId IN " +
+           "(SELECT cc.id.descendantId FROM CategoryClosure cc WHERE cc.id.ancestorId = :categoryId)")
+    List<Product> findInCategorySubtree(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    /**
+     * Stream all products in a category or any of its subcategories, in ID order.
+     * Rows are streamed from the driver one at a time; must be consumed inside a transaction and closed.
+     *
+     * @param categoryId the root category ID
+     * @return stream of products in the category subtree
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.categoryId IN " +
+           "(SELECT cc.id.descendantId FROM CategoryClosure cc WHERE cc.id.ancestorId = :categoryId) ORDER BY p.id")
+    Stream<Product> streamInCategorySubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Stream all active products in ID order.
+     * Rows are streamed from the driver one at a time and loaded read-only.
+     *
+     * @return stream of active products
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.id")
+    Stream<Product> streamActive();
+
     /**
      * Find products by a list of IDs.
      *
@@ -64,4 +145,48 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      * @return true if exists, false otherwise
      */
     boolean existsBySkuAndIdNot(String sku, Long id);
+
+    /**
+     * Find all products flagged as hot items.
+     *
+     * @return list of hot products
+     */
+    List<Product> findByHotItemTrue();
+
+    /**
+     * Find a product by ID and lock its row for the rest of the transaction.
+     *
+     * @param id the product ID
+     * @return optional product
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Decrement the stock of an active, non-hot product if enough stock is available.
+     *
+     * @param id the product ID
+     * @param quantity the quantity to take
+     * @param now the update timestamp
+     * @return number of rows updated (0 if not found, inactive, hot or insufficient stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1, " +
+           "p.updatedAt = :now WHERE p.id = :id AND p.isActive = true AND p.hotItem = false " +
+           "AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    /**
+     * Add a (possibly negative) delta to the stock of a product.
+     *
+     * @param id the product ID
+     * @param delta the quantity to add
+     * @param now the update timestamp
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.version = p.version + 1, " +
+           "p.updatedAt = :now WHERE p.id = :id")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,368 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductDTO;
+import com.ecommerce.product.dto.TopSellerDTO;
+import com.ecommerce.product.entity.BestSellerSketch;
+import com.ecommerce.product.entity.InventoryHold;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.ranking.BestSellerWindow;
+import com.ecommerce.product.ranking.SlidingTopK;
+import com.ecommerce.product.ranking.SpaceSavingSketch;
+import com.ecommerce.product.repository.BestSellerSketchRepository;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.InventoryHoldRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for best-seller rankings.
+ * Committed inventory holds (confirmed order lines) are read from the holds table in commit order, as
+ * numbered by the {@link CommitSequencer}, and counted into bounded {@link SpaceSavingSketch}es: one set for the whole catalog and one per
+ * category, where a sale counts towards its product's category and all of that category's ancestors.
+ * Each set keeps hourly buckets for the last day, daily buckets for the last month and an all-time sketch.
+ *
+ * <p>The top products of every scope and window are recomputed after each poll and served from memory,
+ * so a ranking request never touches {@code order_items} or the holds table. Every instance reads the
+ * full feed, and the sketches are persisted periodically together with their feed cursor so a restart
+ * resumes where the last save stopped.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BestSellerService {
+
+    /** Scope ID of the catalog-wide ranking. */
+    private static final long OVERALL = 0L;
+
+    private static final String ANCESTORS_SQL =
+            "SELECT p.id, cc.ancestor_id FROM products p " +
+            "JOIN category_closure cc ON cc.descendant_id = p.category_id WHERE p.id IN (:ids)";
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final BestSellerSketchRepository bestSellerSketchRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductService productService;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Scope> scopes = new ConcurrentHashMap<>();
+    private final Map<Long, Map<BestSellerWindow, List<SpaceSavingSketch.Entry>>> rankings = new ConcurrentHashMap<>();
+    private final Set<Long> unsaved = new HashSet<>();
+    private long cursor;
+    private long rankedHour;
+
+    @Value("${product.best-sellers.capacity:500}")
+    private int capacity;
+
+    @Value("${product.best-sellers.category-capacity:50}")
+    private int categoryCapacity;
+
+    @Value("${product.best-sellers.max-limit:50}")
+    private int maxLimit;
+
+    @Value("${product.best-sellers.poll-batch-size:1000}")
+    private int pollBatchSize;
+
+    @Value("${product.best-sellers.poll-max-batches:10}")
+    private int pollMaxBatches;
+
+    /**
+     * Load the persisted sketches and resume the feed from the oldest saved cursor.
+     * Scopes saved at a later cursor skip the sales they already include.
+     *
+     * @throws JsonProcessingException if a persisted sketch cannot be read
+     */
+    @PostConstruct
+    public synchronized void load() throws JsonProcessingException {
+        List<BestSellerSketch> saved = bestSellerSketchRepository.findAll();
+        Long oldest = null;
+        for (BestSellerSketch sketch : saved) {
+            Scope scope = newScope(sketch.getScopeId(), sketch.getCursorSequence());
+            scope.restore(objectMapper.readValue(sketch.getState(), ScopeState.class));
+            scopes.put(sketch.getScopeId(), scope);
+            if (oldest == null || sketch.getCursorSequence() < oldest) {
+                oldest = sketch.getCursorSequence();
+            }
+        }
+        cursor = oldest != null ? oldest : 0L;
+        rank(scopes.keySet());
+        log.info("Best-seller sketches loaded for {} scopes, resuming after {}", saved.size(), cursor);
+    }
+
+    /**
+     * Get the best-selling products of a window, for the whole catalog or a category subtree.
+     *
+     * @param window the time window
+     * @param categoryId the category ID, or null for the whole catalog
+     * @param limit maximum number of products
+     * @return ranked products, best seller first
+     */
+    public List<TopSellerDTO> getTopSellers(BestSellerWindow window, Long categoryId, int limit) {
+        if (categoryId != null && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryId);
+        }
+        List<SpaceSavingSketch.Entry> ranking = rankings
+                .getOrDefault(categoryId == null ? OVERALL : categoryId, Map.of())
+                .getOrDefault(window, List.of());
+
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        List<TopSellerDTO> topSellers = new ArrayList<>(size);
+        for (SpaceSavingSketch.Entry entry : ranking) {
+            if (topSellers.size() == size) {
+                break;
+            }
+            ProductDTO product;
+            try {
+                product = productService.getProductById(entry.getItem());
+            } catch (ResourceNotFoundException ex) {
+                continue;
+            }
+            topSellers.add(TopSellerDTO.builder()
+                    .rank(topSellers.size() + 1)
+                    .productId(entry.getItem())
+                    .unitsSold(entry.getCount())
+                    .maxOverestimate(entry.getError())
+                    .product(product)
+                    .build());
+        }
+        return topSellers;
+    }
+
+    /**
+     * Count newly committed holds and refresh the rankings they changed.
+     * Rankings of every scope are refreshed when the hour changes, so expired buckets drop out.
+     */
+    @Scheduled(fixedDelayString = "${product.best-sellers.poll-interval:PT10S}")
+    public synchronized void poll() {
+        Set<Long> changed = new LinkedHashSet<>();
+        int counted = 0;
+        for (int i = 0; i < pollMaxBatches; i++) {
+            List<InventoryHold> holds = inventoryHoldRepository.findByCommitSequenceGreaterThanOrderByCommitSequenceAsc(
+                    cursor, PageRequest.of(0, pollBatchSize));
+            if (holds.isEmpty()) {
+                break;
+            }
+            count(holds, changed);
+            counted += holds.size();
+            if (holds.size() < pollBatchSize) {
+                break;
+            }
+        }
+        if (counted > 0) {
+            log.debug("Counted {} committed holds into {} best-seller scopes", counted, changed.size());
+        }
+
+        long hour = currentHour();
+        if (hour != rankedHour) {
+            rankedHour = hour;
+            rank(scopes.keySet());
+        } else if (!changed.isEmpty()) {
+            rank(changed);
+        }
+    }
+
+    /**
+     * Persist the sketches changed since the last save.
+     * A sketch saved by another instance at a later cursor is left alone. Sketches without new sales
+     * only have their cursor moved, so a restart does not need to replay their history.
+     */
+    @Scheduled(fixedDelayString = "${product.best-sellers.persist-interval:PT5M}")
+    public synchronized void persist() {
+        if (unsaved.isEmpty()) {
+            return;
+        }
+        long position = cursor;
+        Map<Long, String> states = new HashMap<>();
+        for (Long scopeId : unsaved) {
+            try {
+                states.put(scopeId, objectMapper.writeValueAsString(scopes.get(scopeId).export()));
+            } catch (JsonProcessingException ex) {
+                log.error("Failed to serialize best-seller sketch of scope {}: {}", scopeId, ex.getMessage());
+                return;
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(states, position));
+            unsaved.clear();
+            log.debug("Persisted best-seller sketches of {} scopes at {}", states.size(), position);
+        } catch (RuntimeException ex) {
+            log.error("Failed to persist best-seller sketches: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persist();
+    }
+
+    /**
+     * Count a batch of committed holds into the scopes of their products.
+     */
+    private void count(List<InventoryHold> holds, Set<Long> changed) {
+        Map<Long, List<Long>> ancestors = new HashMap<>();
+        namedParameterJdbcTemplate.query(ANCESTORS_SQL,
+                new MapSqlParameterSource("ids", holds.stream().map(InventoryHold::getProductId).collect(Collectors.toSet())),
+                rs -> {
+                    ancestors.computeIfAbsent(rs.getLong("id"), id -> new ArrayList<>()).add(rs.getLong("ancestor_id"));
+                });
+
+        for (InventoryHold hold : holds) {
+            long position = hold.getCommitSequence();
+            long time = hold.getCommittedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            countIn(OVERALL, hold, position, time, changed);
+            for (Long categoryId : ancestors.getOrDefault(hold.getProductId(), List.of())) {
+                countIn(categoryId, hold, position, time, changed);
+            }
+            cursor = position;
+        }
+    }
+
+    private void countIn(long scopeId, InventoryHold hold, long position, long time, Set<Long> changed) {
+        Scope scope = scopes.computeIfAbsent(scopeId, id -> newScope(id, 0L));
+        if (position <= scope.savedAt) {
+            return;
+        }
+        scope.offer(hold.getProductId(), hold.getQuantity(), time);
+        changed.add(scopeId);
+        unsaved.add(scopeId);
+    }
+
+    /**
+     * Recompute the cached rankings of the given scopes.
+     */
+    private void rank(Set<Long> scopeIds) {
+        long now = System.currentTimeMillis();
+        for (Long scopeId : scopeIds) {
+            Scope scope = scopes.get(scopeId);
+            Map<BestSellerWindow, List<SpaceSavingSketch.Entry>> windows = new EnumMap<>(BestSellerWindow.class);
+            for (BestSellerWindow window : BestSellerWindow.values()) {
+                windows.put(window, scope.top(window, maxLimit, now));
+            }
+            rankings.put(scopeId, windows);
+        }
+    }
+
+    private void save(Map<Long, String> states, long position) {
+        Map<Long, BestSellerSketch> existing = bestSellerSketchRepository.findAllByIdForUpdate(states.keySet()).stream()
+                .collect(Collectors.toMap(BestSellerSketch::getScopeId, sketch -> sketch));
+        LocalDateTime now = LocalDateTime.now();
+        List<BestSellerSketch> sketches = new ArrayList<>(states.size());
+        states.forEach((scopeId, state) -> {
+            BestSellerSketch sketch = existing.get(scopeId);
+            if (sketch != null && sketch.getCursorSequence() > position) {
+                return;
+            }
+            sketches.add(BestSellerSketch.builder()
+                    .scopeId(scopeId)
+                    .state(state)
+                    .cursorSequence(position)
+                    .savedAt(now)
+                    .build());
+        });
+        bestSellerSketchRepository.saveAll(sketches);
+        bestSellerSketchRepository.advanceCursors(position, states.keySet(), now);
+    }
+
+    private Scope newScope(long scopeId, long savedAt) {
+        return new Scope(scopeId == OVERALL ? capacity : categoryCapacity, savedAt);
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / Duration.ofHours(1).toMillis();
+    }
+
+    /**
+     * Sketches of one scope: hourly buckets for a day, daily buckets for a month, and all time.
+     */
+    private static final class Scope {
+        private final SlidingTopK hourly;
+        private final SlidingTopK daily;
+        private final SlidingTopK total;
+        private final long savedAt;
+
+        private Scope(int capacity, long savedAt) {
+            this.hourly = new SlidingTopK(capacity, Duration.ofHours(1), 24);
+            this.daily = new SlidingTopK(capacity, Duration.ofDays(1), 30);
+            this.total = new SlidingTopK(capacity, null, 1);
+            this.savedAt = savedAt;
+        }
+
+        private void offer(long productId, long quantity, long time) {
+            hourly.offer(productId, quantity, time);
+            daily.offer(productId, quantity, time);
+            total.offer(productId, quantity, time);
+        }
+
+        private List<SpaceSavingSketch.Entry> top(BestSellerWindow window, int k, long now) {
+            switch (window) {
+                case DAY:
+                    return hourly.top(k, now, 24);
+                case WEEK:
+                    return daily.top(k, now, 7);
+                case MONTH:
+                    return daily.top(k, now, 30);
+                default:
+                    return total.top(k, now, 1);
+            }
+        }
+
+        private ScopeState export() {
+            return new ScopeState(hourly.export(), daily.export(), total.export());
+        }
+
+        private void restore(ScopeState state) {
+            hourly.restore(state.getHourly());
+            daily.restore(state.getDaily());
+            total.restore(state.getTotal());
+        }
+    }
+
+    /**
+     * Persistent form of a scope's sketches.
+     */
+    @Data
+    @NoArgsConstructor
+    static class ScopeState {
+        private List<SlidingTopK.Bucket> hourly;
+        private List<SlidingTopK.Bucket> daily;
+        private List<SlidingTopK.Bucket> total;
+
+        ScopeState(List<SlidingTopK.Bucket> hourly, List<SlidingTopK.Bucket> daily, List<SlidingTopK.Bucket> total) {
+            this.hourly = hourly;
+            this.daily = daily;
+            this.total = total;
+        }
+    }
+}
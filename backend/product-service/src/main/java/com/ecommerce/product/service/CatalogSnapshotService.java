@@ -0,0 +1,188 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.cache.CatalogSnapshot;
+import com.ecommerce.product.cache.CategoryNameCache;
+import com.ecommerce.product.cache.ProductCache;
+import com.ecommerce.product.dto.ProductChangeDTO;
+import com.ecommerce.product.dto.ProductChangePage;
+import com.ecommerce.product.dto.ProductDTO;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the local catalog snapshot used to warm the caches on startup.
+ * The snapshot is rewritten periodically from the database. On startup it is memory-mapped and loaded
+ * into the product and category name caches before the application reports ready, so the first
+ * requests after a deploy do not all fall through to MySQL.
+ *
+ * <p>Once the application is ready, the caches are reconciled in the background: categories whose
+ * name changed since the snapshot are dropped, and every product changed since the snapshot's change
+ * log cursor is invalidated so its next read loads the current state.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotService {
+
+    private static final int RECONCILE_PAGE_SIZE = 1000;
+
+    private final ProductService productService;
+    private final ProductChangeFeedService productChangeFeedService;
+    private final CategoryRepository categoryRepository;
+    private final ProductCache productCache;
+    private final CategoryNameCache categoryNameCache;
+
+    @Value("${product.snapshot.path:./data/catalog.snapshot}")
+    private Path path;
+
+    @Value("${product.snapshot.max-age:PT24H}")
+    private Duration maxAge;
+
+    private CatalogSnapshot loaded;
+
+    /**
+     * Load the snapshot into the caches.
+     * A missing, outdated or unreadable snapshot is skipped and the caches start cold.
+     */
+    @PostConstruct
+    public void warmUp() {
+        long started = System.currentTimeMillis();
+        CatalogSnapshot snapshot;
+        try {
+            snapshot = CatalogSnapshot.read(path);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", path, ex.getMessage());
+            return;
+        }
+        if (snapshot == null) {
+            log.info("No catalog snapshot at {}, starting with cold caches", path);
+            return;
+        }
+        if (snapshot.getCreatedAt().isBefore(LocalDateTime.now().minus(maxAge))) {
+            log.info("Ignoring catalog snapshot from {}, older than {}", snapshot.getCreatedAt(), maxAge);
+            return;
+        }
+
+        categoryNameCache.putAll(snapshot.getCategoryNames());
+        for (ProductDTO product : snapshot.getProducts()) {
+            productCache.put(product);
+        }
+        loaded = snapshot;
+        log.info("Caches warmed from catalog snapshot of {} with {} products and {} categories in {} ms",
+                snapshot.getCreatedAt(), snapshot.getProducts().size(), snapshot.getCategoryNames().size(),
+                System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Start reconciling the warmed caches with the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        CatalogSnapshot snapshot = loaded;
+        loaded = null;
+        if (snapshot == null) {
+            return;
+        }
+        Thread thread = new Thread(() -> reconcile(snapshot), "catalog-snapshot-reconcile");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Write a new snapshot of all active products and categories.
+     * The change log cursor is taken before the products are read, so every change the snapshot may
+     * have missed is replayed by the reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${product.snapshot.interval:PT15M}",
+               initialDelayString = "${product.snapshot.interval:PT15M}")
+    public void writeSnapshot() {
+        long started = System.currentTimeMillis();
+        String cursor = productChangeFeedService.latestCursor();
+        Map<Long, String> categoryNames = loadCategoryNames();
+        int[] count = new int[1];
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, cursor, categoryNames)) {
+            productService.streamActiveProducts(product -> {
+                try {
+                    writer.append(product);
+                    count[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.commit();
+            log.info("Catalog snapshot written with {} products and {} categories in {} ms",
+                    count[0], categoryNames.size(), System.currentTimeMillis() - started);
+        } catch (IOException | UncheckedIOException ex) {
+            log.error("Failed to write catalog snapshot {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Drop cache entries that changed after the snapshot was taken.
+     */
+    private void reconcile(CatalogSnapshot snapshot) {
+        try {
+            Map<Long, String> current = loadCategoryNames();
+            List<Long> renamed = snapshot.getCategoryNames().entrySet().stream()
+                    .filter(category -> !Objects.equals(category.getValue(), current.get(category.getKey())))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            if (!renamed.isEmpty()) {
+                // Cached product DTOs embed the category name
+                categoryNameCache.invalidateAll(renamed);
+                productCache.invalidateAll();
+                log.info("{} categories changed since the catalog snapshot, product cache cleared", renamed.size());
+                return;
+            }
+
+            String cursor = snapshot.getChangeCursor();
+            int invalidated = 0;
+            ProductChangePage page;
+            do {
+                page = productChangeFeedService.readChanges(cursor, RECONCILE_PAGE_SIZE);
+                List<Long> ids = new ArrayList<>(page.getChanges().size());
+                for (ProductChangeDTO change : page.getChanges()) {
+                    ids.add(change.getProductId());
+                }
+                productCache.invalidateAll(ids);
+                invalidated += ids.size();
+                cursor = page.getNextCursor();
+            } while (page.isHasMore());
+            log.info("Catalog snapshot reconciled, {} changes since the snapshot invalidated", invalidated);
+        } catch (RuntimeException ex) {
+            log.error("Failed to reconcile catalog snapshot, clearing product cache: {}", ex.getMessage());
+            productCache.invalidateAll();
+        }
+    }
+
+    private Map<Long, String> loadCategoryNames() {
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,241 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.exception.InvalidOperationException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service class for the category tree.
+ * Maintains the {@code category_closure} table and the per-category product counts. Every category
+ * stores its own number of active products and the number in its whole subtree. Both are adjusted
+ * with atomic increments in the transaction that changes a product, so listing categories never
+ * counts products.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CategoryHierarchyService {
+
+    private static final String INSERT_MISSING_SELF_LINKS_SQL =
+            "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT c.id, c.id, 0 FROM categories c " +
+            "WHERE NOT EXISTS (SELECT 1 FROM category_closure cc WHERE cc.ancestor_id = c.id AND cc.descendant_id = c.id)";
+
+    private static final String INSERT_SELF_LINK_SQL =
+            "INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (:id, :id, 0)";
+
+    private static final String INSERT_ANCESTOR_LINKS_SQL =
+            "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT ancestor_id, :id, depth + 1 FROM category_closure WHERE descendant_id = :parentId";
+
+    private static final String INSERT_SUBTREE_LINKS_SQL =
+            "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+            "FROM category_closure a CROSS JOIN category_closure d " +
+            "WHERE a.descendant_id = :parentId AND d.ancestor_id = :id";
+
+    private static final String ADJUST_OWN_COUNT_SQL =
+            "UPDATE categories SET product_count = product_count + :delta WHERE id = :categoryId";
+
+    private static final String ADJUST_SUBTREE_COUNTS_SQL =
+            "UPDATE categories SET subtree_product_count = subtree_product_count + :delta " +
+            "WHERE id IN (SELECT ancestor_id FROM category_closure WHERE descendant_id = :categoryId)";
+
+    private static final String ADJUST_ANCESTOR_COUNTS_SQL =
+            "UPDATE categories SET subtree_product_count = subtree_product_count + :delta " +
+            "WHERE id IN (SELECT ancestor_id FROM category_closure WHERE descendant_id = :categoryId AND depth > 0)";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Give categories created before the tree existed their self link, and count products if any were added.
+     */
+    @PostConstruct
+    public void initialize() {
+        Integer added = transactionTemplate.execute(status -> {
+            int inserted = namedParameterJdbcTemplate.update(INSERT_MISSING_SELF_LINKS_SQL, new MapSqlParameterSource());
+            if (inserted > 0) {
+                rebuildProductCounts();
+            }
+            return inserted;
+        });
+        if (added != null && added > 0) {
+            log.info("Added {} categories to the category tree", added);
+        }
+    }
+
+    /**
+     * Link a new category into the tree.
+     *
+     * @param categoryId the new category ID
+     * @param parentId the parent category ID, or null for a root category
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addCategory(Long categoryId, Long parentId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", categoryId)
+                .addValue("parentId", parentId);
+        namedParameterJdbcTemplate.update(INSERT_SELF_LINK_SQL, params);
+        if (parentId != null) {
+            namedParameterJdbcTemplate.update(INSERT_ANCESTOR_LINKS_SQL, params);
+        }
+    }
+
+    /**
+     * Move a category and its subtree under a new parent, carrying its product count along.
+     * The category and parent rows must be locked by the caller.
+     *
+     * @param categoryId the category to move
+     * @param parentId the new parent category ID, or null to make it a root
+     * @param subtreeProductCount number of products in the moved subtree
+     * @throws InvalidOperationException if the new parent lies inside the moved subtree
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moveCategory(Long categoryId, Long parentId, long subtreeProductCount) {
+        if (parentId != null && isInSubtree(categoryId, parentId)) {
+            throw new InvalidOperationException("Cannot move category " + categoryId + " under its own subtree");
+        }
+
+        adjustAncestors(categoryId, -subtreeProductCount);
+
+        List<Long> subtree = namedParameterJdbcTemplate.queryForList(
+                "SELECT descendant_id FROM category_closure WHERE ancestor_id = :id",
+                new MapSqlParameterSource("id", categoryId), Long.class);
+        List<Long> ancestors = namedParameterJdbcTemplate.queryForList(
+                "SELECT ancestor_id FROM category_closure WHERE descendant_id = :id AND depth > 0",
+                new MapSqlParameterSource("id", categoryId), Long.class);
+        if (!ancestors.isEmpty()) {
+            namedParameterJdbcTemplate.update(
+                    "DELETE FROM category_closure WHERE descendant_id IN (:subtree) AND ancestor_id IN (:ancestors)",
+                    new MapSqlParameterSource()
+                            .addValue("subtree", subtree)
+                            .addValue("ancestors", ancestors));
+        }
+        if (parentId != null) {
+            namedParameterJdbcTemplate.update(INSERT_SUBTREE_LINKS_SQL, new MapSqlParameterSource()
+                    .addValue("id", categoryId)
+                    .addValue("parentId", parentId));
+        }
+
+        adjustAncestors(categoryId, subtreeProductCount);
+    }
+
+    /**
+     * Unlink a leaf category from the tree and remove its products from its ancestors' counts.
+     *
+     * @param categoryId the category ID
+     * @param productCount number of products in the category
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeCategory(Long categoryId, long productCount) {
+        adjustAncestors(categoryId, -productCount);
+        namedParameterJdbcTemplate.update("DELETE FROM category_closure WHERE descendant_id = :id",
+                new MapSqlParameterSource("id", categoryId));
+    }
+
+    /**
+     * Check whether a category lies in the subtree of another (a category is in its own subtree).
+     *
+     * @param ancestorId the subtree root
+     * @param categoryId the category to check
+     * @return true if the category is in the subtree
+     */
+    public boolean isInSubtree(Long ancestorId, Long categoryId) {
+        Integer count = namedParameterJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM category_closure WHERE ancestor_id = :ancestorId AND descendant_id = :id",
+                new MapSqlParameterSource()
+                        .addValue("ancestorId", ancestorId)
+                        .addValue("id", categoryId), Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Adjust the active product count of a category and its ancestors.
+     *
+     * @param categoryId the category ID
+     * @param delta number of active products added (negative for removed)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustProductCount(Long categoryId, int delta) {
+        adjustProductCounts(Map.of(categoryId, delta));
+    }
+
+    /**
+     * Adjust the active product counts of several categories and their ancestors.
+     * Categories are updated in ID order so concurrent adjustments lock rows in the same order.
+     *
+     * @param deltas number of active products added per category ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustProductCounts(Map<Long, Integer> deltas) {
+        SqlParameterSource[] batch = new TreeMap<>(deltas).entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("categoryId", delta.getKey())
+                        .addValue("delta", delta.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        if (batch.length == 0) {
+            return;
+        }
+        namedParameterJdbcTemplate.batchUpdate(ADJUST_OWN_COUNT_SQL, batch);
+        namedParameterJdbcTemplate.batchUpdate(ADJUST_SUBTREE_COUNTS_SQL, batch);
+    }
+
+    /**
+     * Recount the active products of every category from scratch.
+     * Subtree counts are summed in memory from the closure table, so this is one scan of each table.
+     */
+    @Transactional
+    public void rebuildProductCounts() {
+        Map<Long, Long> own = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT category_id, COUNT(*) AS product_count FROM products WHERE is_active = TRUE GROUP BY category_id",
+                rs -> {
+                    own.put(rs.getLong("category_id"), rs.getLong("product_count"));
+                });
+        Map<Long, Long> subtree = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT ancestor_id, descendant_id FROM category_closure",
+                rs -> {
+                    subtree.merge(rs.getLong("ancestor_id"), own.getOrDefault(rs.getLong("descendant_id"), 0L), Long::sum);
+                });
+
+        List<Long> categoryIds = namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM categories ORDER BY id", new MapSqlParameterSource(), Long.class);
+        SqlParameterSource[] batch = categoryIds.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("own", own.getOrDefault(id, 0L))
+                        .addValue("subtree", subtree.getOrDefault(id, 0L)))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(
+                "UPDATE categories SET product_count = :own, subtree_product_count = :subtree WHERE id = :id", batch);
+        log.info("Rebuilt product counts of {} categories", categoryIds.size());
+    }
+
+    private void adjustAncestors(Long categoryId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(ADJUST_ANCESTOR_COUNTS_SQL, new MapSqlParameterSource()
+                .addValue("categoryId", categoryId)
+                .addValue("delta", delta));
+    }
+}
@@ -2,22 +2,34 @@ package com.ecommerce.product.service;
 
 import com.ecommerce.product.dto.CategoryDTO;
 import com.ecommerce.product.dto.CreateCategoryRequest;
+import com.ecommerce.product.dto.MoveCategoryRequest;
 import com.ecommerce.product.dto.UpdateCategoryRequest;
 import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.event.CategoriesChangedEvent;
 import com.ecommerce.product.exception.DuplicateResourceException;
+import com.ecommerce.product.exception.InvalidOperationException;
 import com.ecommerce.product.exception.ResourceNotFoundException;
 import com.ecommerce.product.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Category management.
- * Handles business logic for category CRUD operations.
+ * Handles business logic for category CRUD operations and the category tree.
  *
  * @author E-Commerce Team
  * @version 1.0
@@ -29,20 +41,47 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryHierarchyService categoryHierarchyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${product.list.max-results:1000}")
+    private int maxListResults;
 
     /**
      * Get all categories.
+     * Returns at most {@code product.list.max-results} categories in ID order.
      *
      * @return list of category DTOs
      */
     public List<CategoryDTO> getAllCategories() {
         log.debug("Getting all categories");
-        List<Category> categories = categoryRepository.findAll();
+        Page<Category> categories = categoryRepository.findAll(PageRequest.of(0, maxListResults, Sort.by("id")));
+        if (categories.getTotalElements() > maxListResults) {
+            log.warn("Category list truncated to {} of {} categories; use the streaming endpoint",
+                    maxListResults, categories.getTotalElements());
+        }
         return categories.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Stream all categories in ID order.
+     * Entities are detached once mapped, so memory use does not grow with the result size.
+     *
+     * @param action receives each category DTO
+     */
+    public void streamAllCategories(Consumer<CategoryDTO> action) {
+        log.debug("Streaming all categories");
+        try (Stream<Category> categories = categoryRepository.streamAll()) {
+            categories.forEach(category -> {
+                entityManager.detach(category);
+                action.accept(convertToDTO(category));
+            });
+        }
+    }
+
     /**
      * Get a category by ID.
      *
@@ -71,12 +110,20 @@ public class CategoryService {
             throw new DuplicateResourceException("Category with name " + request.getName() + " already exists");
         }
 
+        if (request.getParentId() != null) {
+            categoryRepository.findByIdForUpdate(request.getParentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + request.getParentId()));
+        }
+
         Category category = Category.builder()
                 .name(request.getName())
                 .description(request.getDescription())
+                .parentId(request.getParentId())
                 .build();
 
         Category savedCategory = categoryRepository.save(category);
+        categoryHierarchyService.addCategory(savedCategory.getId(), savedCategory.getParentId());
+        eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(savedCategory.getId())));
         log.info("Category created successfully with id: {}", savedCategory.getId());
         return convertToDTO(savedCategory);
     }
@@ -108,12 +155,61 @@ public class CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(id)));
         log.info("Category updated successfully with id: {}", updatedCategory.getId());
         return convertToDTO(updatedCategory);
     }
 
+    /**
+     * Move a category and its subcategories under a new parent.
+     *
+     * @param id the category ID
+     * @param request the move request; a null parent makes the category a root
+     * @return moved category DTO
+     * @throws InvalidOperationException if the new parent is the category itself or one of its descendants
+     */
+    @Transactional
+    public CategoryDTO moveCategory(Long id, MoveCategoryRequest request) {
+        log.info("Moving category {} under parent {}", id, request.getParentId());
+
+        Category category = categoryRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        Long parentId = request.getParentId();
+        if (Objects.equals(category.getParentId(), parentId)) {
+            return convertToDTO(category);
+        }
+        if (parentId != null) {
+            categoryRepository.findByIdForUpdate(parentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + parentId));
+        }
+
+        categoryHierarchyService.moveCategory(id, parentId, category.getSubtreeProductCount());
+        category.setParentId(parentId);
+        Category movedCategory = categoryRepository.saveAndFlush(category);
+        entityManager.refresh(movedCategory);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(id)));
+        log.info("Category {} moved under parent {}", id, parentId);
+        return convertToDTO(movedCategory);
+    }
+
+    /**
+     * Recount the products of all categories from scratch.
+     * Admin only operation for repairing counts, for example after direct database edits.
+     *
+     * @return list of category DTOs with the rebuilt counts
+     */
+    @Transactional
+    public List<CategoryDTO> rebuildProductCounts() {
+        log.info("Rebuilding category product counts");
+        categoryHierarchyService.rebuildProductCounts();
+        entityManager.clear();
+        eventPublisher.publishEvent(new CategoriesChangedEvent(List.of()));
+        return getAllCategories();
+    }
+
     /**
      * Delete a category.
+     * Categories that still have subcategories cannot be deleted.
      *
      * @param id the category ID
      */
@@ -121,10 +217,15 @@ public class CategoryService {
     public void deleteCategory(Long id) {
         log.info("Deleting category with id: {}", id);
 
-        Category category = categoryRepository.findById(id)
+        Category category = categoryRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        if (categoryRepository.existsByParentId(id)) {
+            throw new InvalidOperationException("Category with id " + id + " has subcategories and cannot be deleted");
+        }
 
+        categoryHierarchyService.removeCategory(id, category.getProductCount());
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(id)));
         log.info("Category deleted successfully with id: {}", id);
     }
 
@@ -139,6 +240,9 @@ public class CategoryService {
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
+                .parentId(category.getParentId())
+                .productCount(category.getProductCount())
+                .subtreeProductCount(category.getSubtreeProductCount())
                 .createdAt(category.getCreatedAt())
                 .updatedAt(category.getUpdatedAt())
                 .build();
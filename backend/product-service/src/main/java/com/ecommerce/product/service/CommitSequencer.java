@@ -0,0 +1,166 @@
+package com.ecommerce.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class numbering feed entries in commit order.
+ * Writers leave an entry's sequence number empty. The sequencer numbers entries only once their
+ * transaction has committed, in a transaction that holds the feed's {@code commit_sequences} row,
+ * so a reader always sees a gap-free prefix of the sequence no matter how long a writer's transaction
+ * ran or how the instance clocks drift.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommitSequencer {
+
+    /**
+     * Feeds whose entries are numbered by the sequencer.
+     */
+    public enum Feed {
+        PRODUCT_CHANGES("product_change_log", "sequence_number", "sequence_number IS NULL", null),
+        /**
+         * Committed holds; the holds of one reference get consecutive numbers. Holds that are never
+         * committed keep an empty sequence number, so the pending scan relies on the index leading with
+         * both columns to skip them.
+         */
+        COMMITTED_HOLDS("inventory_holds", "commit_sequence", "commit_sequence IS NULL AND committed_at IS NOT NULL",
+                "reference_id"),
+        /** Inventory ledger movements, folded into snapshots in this order. */
+        INVENTORY_MOVEMENTS("inventory_movements", "commit_sequence", "commit_sequence IS NULL", null);
+
+        private final String table;
+        private final String sequenceColumn;
+        private final String pendingCondition;
+        private final String groupColumn;
+
+        Feed(String table, String sequenceColumn, String pendingCondition, String groupColumn) {
+            this.table = table;
+            this.sequenceColumn = sequenceColumn;
+            this.pendingCondition = pendingCondition;
+            this.groupColumn = groupColumn;
+        }
+    }
+
+    private static final String LOCK_SEQUENCE_SQL =
+            "SELECT last_sequence FROM commit_sequences WHERE feed = ? FOR UPDATE";
+
+    private static final String CREATE_SEQUENCE_SQL =
+            "INSERT IGNORE INTO commit_sequences (feed, last_sequence) VALUES (?, 0)";
+
+    private static final String UPDATE_SEQUENCE_SQL =
+            "UPDATE commit_sequences SET last_sequence = ? WHERE feed = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.commit-sequencer.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${product.commit-sequencer.max-batches:20}")
+    private int maxBatches;
+
+    /**
+     * Number the committed entries of every feed.
+     */
+    @Scheduled(fixedDelayString = "${product.commit-sequencer.interval:PT0.5S}")
+    public void assignAll() {
+        for (Feed feed : Feed.values()) {
+            try {
+                assign(feed);
+            } catch (RuntimeException ex) {
+                log.error("Failed to sequence {} entries: {}", feed, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Number the committed entries of a feed that have no sequence number yet.
+     *
+     * @param feed the feed
+     * @return number of entries numbered
+     */
+    public int assign(Feed feed) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            Integer assigned = transactionTemplate.execute(status -> assignBatch(feed));
+            total += assigned;
+            if (assigned < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Sequenced {} {} entries", total, feed);
+        }
+        return total;
+    }
+
+    /**
+     * Number the next batch of committed entries after the feed's last sequence number.
+     * The pending entries are read after the sequence row is locked, so they include everything the
+     * previous batch numbered and committed. Entries of a group commit together, so they are all
+     * pending at once; they are numbered together, and a full batch leaves its last group to the next.
+     */
+    private int assignBatch(Feed feed) {
+        long last = lockSequence(feed);
+        String group = feed.groupColumn != null ? feed.groupColumn : "NULL";
+        List<Object[]> pending = jdbcTemplate.query(
+                "SELECT id, " + group + " FROM " + feed.table + " WHERE " + feed.pendingCondition +
+                " ORDER BY " + (feed.groupColumn != null ? feed.groupColumn + ", " : "") + "id LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getObject(2)}, batchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = completeGroups(pending);
+
+        List<Object[]> batch = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            batch.add(new Object[]{++last, id});
+        }
+        jdbcTemplate.batchUpdate("UPDATE " + feed.table + " SET " + feed.sequenceColumn + " = ? WHERE id = ?", batch);
+        jdbcTemplate.update(UPDATE_SEQUENCE_SQL, last, feed.name());
+        return ids.size();
+    }
+
+    /**
+     * Drop the trailing group of a full batch, unless the batch holds nothing else.
+     */
+    private List<Long> completeGroups(List<Object[]> pending) {
+        int end = pending.size();
+        Object lastGroup = pending.get(end - 1)[1];
+        if (end == batchSize && lastGroup != null) {
+            while (end > 0 && lastGroup.equals(pending.get(end - 1)[1])) {
+                end--;
+            }
+            if (end == 0) {
+                end = pending.size();
+            }
+        }
+        List<Long> ids = new ArrayList<>(end);
+        for (int i = 0; i < end; i++) {
+            ids.add((Long) pending.get(i)[0]);
+        }
+        return ids;
+    }
+
+    private long lockSequence(Feed feed) {
+        List<Long> last = jdbcTemplate.queryForList(LOCK_SEQUENCE_SQL, Long.class, feed.name());
+        if (last.isEmpty()) {
+            jdbcTemplate.update(CREATE_SEQUENCE_SQL, feed.name());
+            last = jdbcTemplate.queryForList(LOCK_SEQUENCE_SQL, Long.class, feed.name());
+        }
+        return last.get(0);
+    }
+}
@@ -0,0 +1,457 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.entity.HotStockCheckpoint;
+import com.ecommerce.product.entity.InventoryMovementType;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.ProductsChangedEvent;
+import com.ecommerce.product.exception.InvalidOperationException;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.inventory.HotStockJournal;
+import com.ecommerce.product.inventory.StripedStockCounter;
+import com.ecommerce.product.repository.HotStockCheckpointRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for hot-item inventory.
+ * Stock of products flagged as hot items is held in {@link StripedStockCounter}s so that thousands of
+ * concurrent decrements on one flash-sale SKU do not serialize on its database row. Every movement is
+ * written to the {@link HotStockJournal} before it is acknowledged, and aggregated deltas are flushed
+ * to {@code stock_quantity} periodically together with a checkpoint of the last applied sequence.
+ * On startup, journal entries after the checkpoint are replayed so no reservation is lost. Journal
+ * sequences are local to an instance, so checkpoints are kept per product and instance; the instance
+ * ID must therefore stay the same across restarts of an instance that keeps its journal.
+ * Each flush records the net delta as a single inventory ledger movement.
+ *
+ * <p>The counters and the journal are local to one instance, so only the instance holding the
+ * {@code hot_stock_leases} row serves hot items; it renews the lease on every flush. Other instances
+ * hold no counters and refuse reservations of hot items, since their database stock is not
+ * authoritative. An owner that misses its renewals stops serving before the lease expires, and when
+ * it gets the lease back it flushes and reloads its counters, because another instance may have
+ * owned them in between. A replacement loads the flushed database stock, so reservations a failed
+ * owner journaled but could not flush are only applied when that owner restarts with its journal;
+ * keep the lease duration well above the flush interval.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotStockService {
+
+    private static final String LEASE_NAME = "hot-stock";
+
+    private static final String RENEW_LEASE_SQL =
+            "UPDATE hot_stock_leases SET owner = :owner, " +
+            "expires_at = TIMESTAMPADD(SECOND, :seconds, CURRENT_TIMESTAMP) " +
+            "WHERE name = :name AND (owner = :owner OR expires_at < CURRENT_TIMESTAMP)";
+
+    private static final String CREATE_LEASE_SQL =
+            "INSERT IGNORE INTO hot_stock_leases (name, owner, expires_at) " +
+            "VALUES (:name, :owner, TIMESTAMPADD(SECOND, :seconds, CURRENT_TIMESTAMP))";
+
+    private static final String RELEASE_LEASE_SQL =
+            "UPDATE hot_stock_leases SET expires_at = CURRENT_TIMESTAMP WHERE name = :name AND owner = :owner";
+
+    private final ProductRepository productRepository;
+    private final HotStockCheckpointRepository checkpointRepository;
+    private final ProductChangeFeedService productChangeFeedService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final TransactionTemplate transactionTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+
+    @Value("${product.hot-stock.journal-path:./data/hot-stock.journal}")
+    private Path journalPath;
+
+    @Value("${product.hot-stock.journal-fsync:false}")
+    private boolean journalFsync;
+
+    @Value("${product.hot-stock.journal-batch-size:1024}")
+    private int journalBatchSize;
+
+    @Value("${product.hot-stock.journal-linger:PT0S}")
+    private Duration journalLinger;
+
+    @Value("${product.hot-stock.stripes:0}")
+    private int stripes;
+
+    @Value("${product.hot-stock.instance-id:}")
+    private String instanceId;
+
+    @Value("${product.hot-stock.lease-duration:PT30S}")
+    private Duration leaseDuration;
+
+    private HotStockJournal journal;
+
+    /** System.nanoTime() until which this instance may serve hot items; the lease outlives it. */
+    private volatile long leaseDeadline;
+    private volatile boolean owner;
+    private boolean countersLoaded;
+
+    /**
+     * Replay unflushed journal entries, take the lease and load the counters of all hot products.
+     *
+     * @throws IOException if the journal cannot be read or opened
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        if (stripes <= 0) {
+            stripes = Runtime.getRuntime().availableProcessors() * 2;
+        }
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = localHostName();
+        }
+
+        // Sequences are only unique within this instance's journal, so only its own checkpoints apply
+        Map<Long, Long> checkpoints = new HashMap<>();
+        for (HotStockCheckpoint checkpoint : checkpointRepository.findByIdInstanceId(instanceId)) {
+            checkpoints.put(checkpoint.getId().getProductId(), checkpoint.getLastSequence());
+        }
+
+        // Aggregate the entries each product has not applied yet; {delta, lastSequence} per product
+        long maxSequence = checkpointRepository.findMaxSequence(instanceId);
+        Map<Long, long[]> replay = new HashMap<>();
+        for (HotStockJournal.Entry entry : HotStockJournal.read(journalPath)) {
+            maxSequence = Math.max(maxSequence, entry.getSequence());
+            if (entry.getSequence() > checkpoints.getOrDefault(entry.getProductId(), 0L)) {
+                long[] pending = replay.computeIfAbsent(entry.getProductId(), id -> new long[2]);
+                pending[0] += entry.getDelta();
+                pending[1] = Math.max(pending[1], entry.getSequence());
+            }
+        }
+        if (!replay.isEmpty()) {
+            log.info("Replaying hot-stock journal for {} products", replay.size());
+            // A failure here aborts startup and leaves the journal untouched for the next attempt
+            replay.forEach((productId, pending) -> applyDelta(productId, pending[0], pending[1]));
+        }
+
+        journal = new HotStockJournal(journalPath, journalFsync, maxSequence, journalBatchSize, journalLinger);
+        journal.truncateIfFlushed();
+
+        renewLease();
+        if (!owner) {
+            log.warn("Hot-stock lease is held by another instance; {} will not serve hot items", instanceId);
+        }
+    }
+
+    /**
+     * Check whether this instance currently serves hot items.
+     *
+     * @return true if this instance holds a live hot-stock lease
+     */
+    public boolean isOwner() {
+        return owner && System.nanoTime() - leaseDeadline < 0;
+    }
+
+    /**
+     * Check whether a product's stock is held in memory.
+     *
+     * @param productId the product ID
+     * @return true if the product is a hot item
+     */
+    public boolean isHot(Long productId) {
+        return isOwner() && counters.containsKey(productId);
+    }
+
+    /**
+     * Current available stock of a hot item.
+     *
+     * @param productId the product ID
+     * @return available stock, or empty if the product is not a hot item
+     */
+    public OptionalLong available(Long productId) {
+        StripedStockCounter counter = isOwner() ? counters.get(productId) : null;
+        return counter == null ? OptionalLong.empty() : OptionalLong.of(counter.available());
+    }
+
+    /**
+     * Reserve stock of a hot item without touching the database.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to reserve
+     * @return false if the product is not (or no longer) a hot item and the caller must use the database
+     * @throws InvalidOperationException if there is not enough stock
+     */
+    public boolean reserve(Long productId, int quantity) {
+        StripedStockCounter counter = isOwner() ? counters.get(productId) : null;
+        if (counter == null || !counter.enter()) {
+            return false;
+        }
+        try {
+            if (!counter.tryDecrement(quantity)) {
+                throw new InvalidOperationException("Insufficient stock for product id " + productId +
+                        ". Available: " + counter.available() + ", Requested: " + quantity);
+            }
+            try {
+                journal.append(productId, quantity);
+            } catch (IOException ex) {
+                counter.increment(quantity);
+                throw new UncheckedIOException("Failed to journal hot-stock reservation", ex);
+            }
+            return true;
+        } finally {
+            counter.exit();
+        }
+    }
+
+    /**
+     * Return stock of a hot item.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to return
+     * @return false if the product is not (or no longer) a hot item and the caller must use the database
+     */
+    public boolean release(Long productId, int quantity) {
+        StripedStockCounter counter = isOwner() ? counters.get(productId) : null;
+        if (counter == null || !counter.enter()) {
+            return false;
+        }
+        try {
+            journal.append(productId, -quantity);
+            counter.increment(quantity);
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to journal hot-stock release", ex);
+        } finally {
+            counter.exit();
+        }
+    }
+
+    /**
+     * Flag a product as a hot item and move its stock into an in-memory counter.
+     * The product row is locked while the flag is set so no database decrement can slip in between.
+     *
+     * @param productId the product ID
+     * @throws InvalidOperationException if another instance serves hot items
+     */
+    public void enable(Long productId) {
+        if (!isOwner()) {
+            throw new InvalidOperationException("Hot items are served by another product-service instance");
+        }
+        Integer stock = transactionTemplate.execute(status -> {
+            Product product = productRepository.findByIdForUpdate(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+            if (Boolean.TRUE.equals(product.getHotItem())) {
+                return null;
+            }
+            product.setHotItem(true);
+            productRepository.saveAndFlush(product);
+            productChangeFeedService.recordUpdates(List.of(productId));
+            return product.getStockQuantity();
+        });
+        if (stock != null) {
+            counters.putIfAbsent(productId, new StripedStockCounter(stock, stripes));
+            eventPublisher.publishEvent(new ProductsChangedEvent(List.of(productId)));
+            log.info("Product {} switched to hot-item inventory with stock {}", productId, stock);
+        }
+    }
+
+    /**
+     * Move a hot item's stock back to the database and clear the flag.
+     *
+     * @param productId the product ID
+     */
+    public void disable(Long productId) {
+        if (!isOwner()) {
+            throw new InvalidOperationException("Hot items are served by another product-service instance");
+        }
+        StripedStockCounter counter = counters.get(productId);
+        if (counter == null) {
+            throw new InvalidOperationException("Product with id " + productId + " is not a hot item");
+        }
+        counter.close();
+        flushProduct(productId);
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = productRepository.findByIdForUpdate(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+            product.setHotItem(false);
+            productRepository.saveAndFlush(product);
+            productChangeFeedService.recordUpdates(List.of(productId));
+        });
+        counters.remove(productId);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(productId)));
+        log.info("Product {} switched back to database inventory", productId);
+    }
+
+    /**
+     * Periodically flush aggregated deltas to the database and renew the lease.
+     */
+    @Scheduled(fixedDelayString = "${product.hot-stock.flush-interval:PT1S}")
+    public void flush() {
+        flushPending();
+        renewLease();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        closeCounters();
+        flushPending();
+        journal.close();
+        if (owner && journal.pendingProducts().isEmpty()) {
+            try {
+                namedParameterJdbcTemplate.update(RELEASE_LEASE_SQL, leaseParameters());
+            } catch (RuntimeException ex) {
+                log.warn("Failed to release hot-stock lease: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flush the pending deltas of every product, including ones whose counter was already dropped.
+     */
+    private void flushPending() {
+        for (Long productId : journal.pendingProducts()) {
+            flushProduct(productId);
+        }
+        try {
+            journal.truncateIfFlushed();
+        } catch (IOException ex) {
+            log.error("Failed to truncate hot-stock journal: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Renew or take the lease. An owner whose lease ran out may have been replaced in the meantime,
+     * so it drops its counters and loads them again from the flushed database stock.
+     */
+    private void renewLease() {
+        if (!isOwner() && countersLoaded) {
+            closeCounters();
+            flushPending();
+        }
+
+        long start = System.nanoTime();
+        boolean renewed;
+        try {
+            renewed = namedParameterJdbcTemplate.update(RENEW_LEASE_SQL, leaseParameters()) > 0
+                    || namedParameterJdbcTemplate.update(CREATE_LEASE_SQL, leaseParameters()) > 0;
+        } catch (RuntimeException ex) {
+            log.error("Failed to renew hot-stock lease: {}", ex.getMessage());
+            return;
+        }
+        if (!renewed) {
+            if (owner) {
+                log.warn("Hot-stock lease was taken over by another instance; {} stops serving hot items", instanceId);
+                owner = false;
+                closeCounters();
+                flushPending();
+            }
+            return;
+        }
+
+        if (!countersLoaded) {
+            if (!journal.pendingProducts().isEmpty()) {
+                // Counters loaded now would miss the unflushed deltas; retry after the next flush
+                return;
+            }
+            loadCounters();
+        }
+        leaseDeadline = start + Duration.ofSeconds(leaseSeconds()).toNanos();
+        if (!owner) {
+            owner = true;
+            log.info("Instance {} took the hot-stock lease and serves {} hot items", instanceId, counters.size());
+        }
+    }
+
+    private void loadCounters() {
+        for (Product product : productRepository.findByHotItemTrue()) {
+            counters.putIfAbsent(product.getId(), new StripedStockCounter(product.getStockQuantity(), stripes));
+        }
+        countersLoaded = true;
+        log.info("Hot-stock counters loaded for {} products with {} stripes", counters.size(), stripes);
+    }
+
+    /**
+     * Quiesce and drop every counter; their deltas stay in the journal until flushed.
+     */
+    private void closeCounters() {
+        countersLoaded = false;
+        for (Map.Entry<Long, StripedStockCounter> entry : counters.entrySet()) {
+            entry.getValue().close();
+            counters.remove(entry.getKey());
+        }
+    }
+
+    private MapSqlParameterSource leaseParameters() {
+        return new MapSqlParameterSource()
+                .addValue("name", LEASE_NAME)
+                .addValue("owner", instanceId)
+                .addValue("seconds", leaseSeconds());
+    }
+
+    private long leaseSeconds() {
+        return Math.max(1, leaseDuration.toSeconds());
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            throw new IllegalStateException("Set product.hot-stock.instance-id, the host name cannot be resolved", ex);
+        }
+    }
+
+    /**
+     * Apply the pending delta of one product and advance its checkpoint in the same transaction.
+     */
+    private void flushProduct(Long productId) {
+        HotStockJournal.PendingDelta delta = journal.drain(productId);
+        if (delta == null) {
+            return;
+        }
+        try {
+            applyDelta(productId, delta.getDelta(), delta.getLastSequence());
+            log.debug("Flushed hot-stock delta {} for product {} up to sequence {}",
+                    delta.getDelta(), productId, delta.getLastSequence());
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush hot-stock delta for product {}: {}", productId, ex.getMessage());
+            journal.restore(productId, delta);
+        }
+    }
+
+    /**
+     * Subtract a delta from the product's stock and record the applied sequence in one transaction.
+     */
+    private void applyDelta(Long productId, long delta, long lastSequence) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (delta != 0) {
+                productRepository.adjustStock(productId, (int) -delta, LocalDateTime.now());
+                inventoryLedgerService.record(productId,
+                        delta > 0 ? InventoryMovementType.RESERVATION : InventoryMovementType.RELEASE,
+                        (int) -delta, "hot-stock:" + lastSequence);
+                productChangeFeedService.recordUpdates(List.of(productId));
+            }
+            checkpointRepository.save(HotStockCheckpoint.builder()
+                    .id(new HotStockCheckpoint.Key(productId, instanceId))
+                    .lastSequence(lastSequence)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        });
+    }
+}
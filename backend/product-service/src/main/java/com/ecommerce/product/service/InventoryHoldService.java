@@ -0,0 +1,256 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.CreateHoldsRequest;
+import com.ecommerce.product.dto.InventoryHoldDTO;
+import com.ecommerce.product.entity.HoldStatus;
+import com.ecommerce.product.entity.InventoryHold;
+import com.ecommerce.product.exception.DuplicateResourceException;
+import com.ecommerce.product.exception.InvalidOperationException;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.repository.InventoryHoldRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for time-limited inventory holds.
+ * A hold takes stock when it is created and keeps it until the reference (typically an order) is
+ * committed, released, or the hold expires. Expired holds are returned to stock by a background
+ * sweeper that claims them in batches with SKIP LOCKED, so several instances can sweep concurrently.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class InventoryHoldService {
+
+    private static final String EXPIRY_REFERENCE = "hold-expiry";
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.holds.default-ttl:PT15M}")
+    private Duration defaultTtl;
+
+    @Value("${product.holds.max-ttl:PT24H}")
+    private Duration maxTtl;
+
+    @Value("${product.holds.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    @Value("${product.holds.sweep-max-batches:20}")
+    private int sweepMaxBatches;
+
+    /**
+     * Get all holds of a reference.
+     *
+     * @param referenceId the reference ID
+     * @return list of hold DTOs
+     */
+    public List<InventoryHoldDTO> getHolds(String referenceId) {
+        log.debug("Getting holds for reference: {}", referenceId);
+        List<InventoryHold> holds = inventoryHoldRepository.findByReferenceId(referenceId);
+        if (holds.isEmpty()) {
+            throw new ResourceNotFoundException("No holds found for reference: " + referenceId);
+        }
+        return holds.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Place holds for all items of a reference.
+     * Either every item is reserved or none is. Items of the same product are held together.
+     * The holds are inserted before any stock is taken, so a concurrent request for the same
+     * reference fails on the (reference, product) unique key instead of reserving twice.
+     *
+     * @param request the create holds request
+     * @return list of created hold DTOs
+     */
+    @Transactional
+    public List<InventoryHoldDTO> createHolds(CreateHoldsRequest request) {
+        log.info("Creating {} holds for reference: {}", request.getItems().size(), request.getReferenceId());
+
+        if (!inventoryHoldRepository.findByReferenceId(request.getReferenceId()).isEmpty()) {
+            throw new DuplicateResourceException("Holds already exist for reference " + request.getReferenceId());
+        }
+
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        if (ttl.compareTo(maxTtl) > 0) {
+            ttl = maxTtl;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CreateHoldsRequest.Item item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        List<InventoryHold> holds = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> holds.add(InventoryHold.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .referenceId(request.getReferenceId())
+                .status(HoldStatus.HELD)
+                .expiresAt(expiresAt)
+                .build()));
+
+        List<InventoryHold> savedHolds;
+        try {
+            savedHolds = inventoryHoldRepository.saveAllAndFlush(holds);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateResourceException("Holds already exist for reference " + request.getReferenceId());
+        }
+        for (InventoryHold hold : savedHolds) {
+            inventoryService.reserveStock(hold.getProductId(), hold.getQuantity(), request.getReferenceId());
+        }
+
+        log.info("Holds created for reference: {}, expiring at {}", request.getReferenceId(), expiresAt);
+        return savedHolds.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Commit the holds of a reference, making the reservation permanent.
+     * Committing already committed holds is a no-op. A hold past its expiry is still committed: if the
+     * sweeper has not returned its stock yet it still holds it, and if it has, the stock is reserved
+     * again, which fails only when it has been sold meanwhile.
+     *
+     * @param referenceId the reference ID
+     * @return list of hold DTOs
+     * @throws InvalidOperationException if any hold was released or expired stock is no longer available
+     */
+    @Transactional
+    public List<InventoryHoldDTO> commitHolds(String referenceId) {
+        log.info("Committing holds for reference: {}", referenceId);
+
+        List<InventoryHold> holds = lockHolds(referenceId);
+        LocalDateTime now = LocalDateTime.now();
+        List<InventoryHold> expired = new ArrayList<>();
+        for (InventoryHold hold : holds) {
+            if (hold.getStatus() == HoldStatus.RELEASED) {
+                throw new InvalidOperationException("Holds for reference " + referenceId + " were released");
+            }
+            if (hold.getStatus() == HoldStatus.EXPIRED) {
+                expired.add(hold);
+            }
+        }
+        for (InventoryHold hold : holds) {
+            if (hold.getStatus() != HoldStatus.COMMITTED) {
+                hold.setStatus(HoldStatus.COMMITTED);
+                hold.setCommittedAt(now);
+            }
+        }
+        // Stock updates clear the persistence context, so all status changes must be made first
+        for (InventoryHold hold : expired) {
+            log.info("Hold {} of reference {} had expired, reserving its stock again", hold.getId(), referenceId);
+            inventoryService.reserveStock(hold.getProductId(), hold.getQuantity(), referenceId);
+        }
+
+        log.info("Holds committed for reference: {}", referenceId);
+        return holds.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Release the holds of a reference and return their stock.
+     * Committed holds are released as well, for example when a confirmed order is cancelled.
+     *
+     * @param referenceId the reference ID
+     * @return list of hold DTOs
+     */
+    @Transactional
+    public List<InventoryHoldDTO> releaseHolds(String referenceId) {
+        log.info("Releasing holds for reference: {}", referenceId);
+
+        List<InventoryHold> holds = lockHolds(referenceId);
+        List<InventoryHold> released = new ArrayList<>();
+        for (InventoryHold hold : holds) {
+            if (hold.getStatus() == HoldStatus.HELD || hold.getStatus() == HoldStatus.COMMITTED) {
+                hold.setStatus(HoldStatus.RELEASED);
+                released.add(hold);
+            }
+        }
+        // Stock updates clear the persistence context, so all status changes must be made first
+        for (InventoryHold hold : released) {
+            inventoryService.releaseStock(hold.getProductId(), hold.getQuantity(), referenceId);
+        }
+
+        log.info("Holds released for reference: {}", referenceId);
+        return holds.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Expire holds whose TTL has passed and return their stock.
+     * Works in batches, each claimed and committed in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${product.holds.sweep-interval:PT30S}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sweepExpiredHolds() {
+        int expired = 0;
+        for (int i = 0; i < sweepMaxBatches; i++) {
+            Integer claimed = transactionTemplate.execute(status -> expireBatch());
+            expired += claimed;
+            if (claimed < sweepBatchSize) {
+                break;
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} inventory holds", expired);
+        }
+    }
+
+    /**
+     * Claim one batch of expired holds, mark them expired and return their stock per product.
+     */
+    private int expireBatch() {
+        List<InventoryHold> claimed = inventoryHoldRepository.claimExpiredHolds(LocalDateTime.now(), sweepBatchSize);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (InventoryHold hold : claimed) {
+            hold.setStatus(HoldStatus.EXPIRED);
+            quantities.merge(hold.getProductId(), hold.getQuantity(), Integer::sum);
+        }
+        quantities.forEach((productId, quantity) -> inventoryService.releaseStock(productId, quantity, EXPIRY_REFERENCE));
+        return claimed.size();
+    }
+
+    private List<InventoryHold> lockHolds(String referenceId) {
+        List<InventoryHold> holds = inventoryHoldRepository.findByReferenceIdForUpdate(referenceId);
+        if (holds.isEmpty()) {
+            throw new ResourceNotFoundException("No holds found for reference: " + referenceId);
+        }
+        return holds;
+    }
+
+    /**
+     * Convert InventoryHold entity to InventoryHoldDTO.
+     *
+     * @param hold the hold entity
+     * @return hold DTO
+     */
+    private InventoryHoldDTO convertToDTO(InventoryHold hold) {
+        return InventoryHoldDTO.builder()
+                .id(hold.getId())
+                .productId(hold.getProductId())
+                .quantity(hold.getQuantity())
+                .referenceId(hold.getReferenceId())
+                .status(hold.getStatus())
+                .expiresAt(hold.getExpiresAt())
+                .createdAt(hold.getCreatedAt())
+                .updatedAt(hold.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,316 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.InventoryMovementDTO;
+import com.ecommerce.product.dto.InventoryReconciliationDTO;
+import com.ecommerce.product.entity.InventoryMovement;
+import com.ecommerce.product.entity.InventoryMovementType;
+import com.ecommerce.product.entity.InventorySnapshot;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.repository.InventoryMovementRepository;
+import com.ecommerce.product.repository.InventorySnapshotRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for the append-only inventory ledger.
+ * Every stock change appends a signed movement in the transaction that changes
+ * {@code products.stock_quantity}, which stays the O(1) summary that stock reads use.
+ * The stock derived from the ledger is the latest snapshot plus the movements after it. A background
+ * compaction folds new movements into the snapshots, so deriving or reconciling stock only reads a
+ * short tail of the ledger.
+ *
+ * <p>Compaction folds movements in the order of the numbers the {@link CommitSequencer} gives them
+ * after their transaction has committed. Movement IDs are allocated before commit, so folding by ID
+ * could pass a movement whose transaction is still in flight and leave it out of every snapshot.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class InventoryLedgerService {
+
+    private static final String INSERT_RECEIPTS_SQL =
+            "INSERT INTO inventory_movements (product_id, movement_type, quantity, reference_id, created_at) " +
+            "SELECT id, 'RECEIPT', stock_quantity, :referenceId, :createdAt FROM products " +
+            "WHERE sku IN (:skus) AND stock_quantity <> 0";
+
+    private static final String INSERT_STOCK_TARGET_SQL =
+            "INSERT INTO inventory_movements (product_id, movement_type, quantity, reference_id, created_at) " +
+            "SELECT id, 'ADJUSTMENT', :stock - stock_quantity, :referenceId, :createdAt FROM products " +
+            "WHERE id = :id AND NOT is_hot_item AND stock_quantity <> :stock";
+
+    private static final String LEDGER_STATE = "ledger";
+
+    private static final String CREATE_LEDGER_STATE_SQL =
+            "INSERT IGNORE INTO inventory_ledger_state (name) VALUES ('" + LEDGER_STATE + "')";
+
+    private static final String LOCK_LEDGER_STATE_SQL =
+            "SELECT opening_balances_at FROM inventory_ledger_state WHERE name = '" + LEDGER_STATE + "' FOR UPDATE";
+
+    private static final String MARK_OPENING_BALANCES_SQL =
+            "UPDATE inventory_ledger_state SET opening_balances_at = :createdAt WHERE name = '" + LEDGER_STATE + "'";
+
+    private static final String INSERT_OPENING_BALANCES_SQL =
+            "INSERT INTO inventory_movements (product_id, movement_type, quantity, reference_id, created_at) " +
+            "SELECT p.id, 'ADJUSTMENT', " +
+            "p.stock_quantity - (SELECT COALESCE(SUM(m.quantity), 0) FROM inventory_movements m WHERE m.product_id = p.id), " +
+            "'opening-balance', :createdAt FROM products p " +
+            "WHERE p.stock_quantity <> (SELECT COALESCE(SUM(m.quantity), 0) FROM inventory_movements m WHERE m.product_id = p.id)";
+
+    private static final String LOCK_WATERMARK_SQL =
+            "SELECT last_sequence FROM inventory_ledger_snapshots ORDER BY last_sequence DESC LIMIT 1 FOR UPDATE";
+
+    private static final String COMPACTION_LIMIT_SQL =
+            "SELECT MAX(commit_sequence) FROM inventory_movements";
+
+    private static final String BATCH_END_SQL =
+            "SELECT MAX(commit_sequence) FROM (SELECT commit_sequence FROM inventory_movements " +
+            "WHERE commit_sequence > :from AND commit_sequence <= :limit " +
+            "ORDER BY commit_sequence LIMIT :batchSize) batch";
+
+    private static final String FOLD_MOVEMENTS_SQL =
+            "INSERT INTO inventory_ledger_snapshots (product_id, stock_quantity, last_sequence, snapshot_at) " +
+            "SELECT product_id, SUM(quantity), :to, :snapshotAt FROM inventory_movements " +
+            "WHERE commit_sequence > :from AND commit_sequence <= :to GROUP BY product_id " +
+            "ON DUPLICATE KEY UPDATE stock_quantity = stock_quantity + VALUES(stock_quantity), " +
+            "last_sequence = VALUES(last_sequence), snapshot_at = VALUES(snapshot_at)";
+
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+    private final ProductRepository productRepository;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.inventory-ledger.compaction-batch-size:10000}")
+    private int compactionBatchSize;
+
+    private volatile boolean openingBalancesRecorded;
+
+    /**
+     * Record a stock movement of a single product.
+     * Must be called inside the transaction that changes the product's stock.
+     *
+     * @param productId the product ID
+     * @param movementType the type of movement
+     * @param quantity signed quantity; positive adds stock, negative takes it
+     * @param referenceId optional reference such as a hold or import
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long productId, InventoryMovementType movementType, int quantity, String referenceId) {
+        if (quantity == 0) {
+            return;
+        }
+        inventoryMovementRepository.save(InventoryMovement.builder()
+                .productId(productId)
+                .movementType(movementType)
+                .quantity(quantity)
+                .referenceId(referenceId)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Record the initial stock of many new products, identified by SKU, as receipts with one insert.
+     * Must be called inside the transaction that inserted the products.
+     *
+     * @param skus SKUs of the created products
+     * @param referenceId optional reference such as an import
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReceipts(Collection<String> skus, String referenceId) {
+        if (skus.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(INSERT_RECEIPTS_SQL, new MapSqlParameterSource()
+                .addValue("skus", skus)
+                .addValue("referenceId", referenceId)
+                .addValue("createdAt", LocalDateTime.now()));
+    }
+
+    /**
+     * Record stock that is about to be set to absolute values as adjustments from the current stock.
+     * Must be called inside the updating transaction and before the update, so the current stock can
+     * be read. Hot items are skipped since their stock is not set directly.
+     *
+     * @param targets new stock per product ID
+     * @param referenceId optional reference
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStockTargets(Map<Long, Integer> targets, String referenceId) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batch = targets.entrySet().stream()
+                .map(target -> new MapSqlParameterSource()
+                        .addValue("id", target.getKey())
+                        .addValue("stock", target.getValue())
+                        .addValue("referenceId", referenceId)
+                        .addValue("createdAt", now))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(INSERT_STOCK_TARGET_SQL, batch);
+    }
+
+    /**
+     * Get the movements of a product, newest first.
+     *
+     * @param productId the product ID
+     * @param page page number
+     * @param size page size
+     * @return page of movement DTOs
+     */
+    public Page<InventoryMovementDTO> getMovements(Long productId, int page, int size) {
+        log.debug("Getting inventory movements for product: {}, page: {}, size: {}", productId, page, size);
+        return inventoryMovementRepository.findByProductIdOrderByIdDesc(productId, PageRequest.of(page, size))
+                .map(this::convertToDTO);
+    }
+
+    /**
+     * Compare a product's stock summary with the stock derived from its snapshot and ledger tail.
+     * Movements of hot items are flushed periodically, so both lag their in-memory counter equally.
+     *
+     * @param productId the product ID
+     * @return reconciliation DTO
+     */
+    public InventoryReconciliationDTO reconcile(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        InventorySnapshot snapshot = inventorySnapshotRepository.findById(productId)
+                .orElse(InventorySnapshot.builder().stockQuantity(0L).lastSequence(0L).build());
+
+        long tail = inventoryMovementRepository.sumQuantityAfter(productId, snapshot.getLastSequence());
+        long ledgerStock = snapshot.getStockQuantity() + tail;
+        long summaryStock = product.getStockQuantity().longValue();
+        return InventoryReconciliationDTO.builder()
+                .productId(productId)
+                .summaryStock(summaryStock)
+                .snapshotStock(snapshot.getStockQuantity())
+                .snapshotSequence(snapshot.getLastSequence())
+                .movementsSinceSnapshot(inventoryMovementRepository.countAfter(productId, snapshot.getLastSequence()))
+                .ledgerStock(ledgerStock)
+                .consistent(ledgerStock == summaryStock)
+                .build();
+    }
+
+    /**
+     * Fold the movements sequenced so far into the snapshots.
+     * Each batch is folded in its own transaction, serialized across instances by locking the
+     * snapshot watermark.
+     */
+    @Scheduled(fixedDelayString = "${product.inventory-ledger.compaction-interval:PT5M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void compact() {
+        if (!openingBalancesRecorded) {
+            transactionTemplate.executeWithoutResult(status -> recordOpeningBalances());
+            openingBalancesRecorded = true;
+        }
+
+        Long limit = namedParameterJdbcTemplate.getJdbcTemplate().queryForObject(COMPACTION_LIMIT_SQL, Long.class);
+        if (limit == null) {
+            return;
+        }
+
+        int batches = 0;
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> foldBatch(limit)))) {
+            batches++;
+        }
+        if (batches > 0) {
+            log.info("Compacted inventory ledger up to sequence {} in {} batches", limit, batches);
+        }
+    }
+
+    /**
+     * Seed every product's ledger once with the stock it had before the ledger existed: its stock
+     * summary minus the movements already recorded for it. Products that took movements before the
+     * first compaction therefore get the remainder rather than nothing. The insert reads each product
+     * row and its movements under the locks of the statement, so a stock change running alongside
+     * is counted on exactly one side. Whether seeding has happened is kept in the ledger state row,
+     * so later discrepancies still show up in reconciliation instead of being seeded away.
+     */
+    private void recordOpeningBalances() {
+        JdbcTemplate jdbcTemplate = namedParameterJdbcTemplate.getJdbcTemplate();
+        jdbcTemplate.update(CREATE_LEDGER_STATE_SQL);
+        List<Timestamp> seededAt = jdbcTemplate.queryForList(LOCK_LEDGER_STATE_SQL, Timestamp.class);
+        if (seededAt.get(0) != null) {
+            return;
+        }
+        lockWatermark();
+        LocalDateTime now = LocalDateTime.now();
+        int recorded = namedParameterJdbcTemplate.update(INSERT_OPENING_BALANCES_SQL,
+                new MapSqlParameterSource("createdAt", now));
+        namedParameterJdbcTemplate.update(MARK_OPENING_BALANCES_SQL, new MapSqlParameterSource("createdAt", now));
+        log.info("Recorded opening inventory balances for {} products", recorded);
+    }
+
+    /**
+     * Fold the next batch of sequenced movements after the watermark into the snapshots.
+     *
+     * @return true if a batch was folded, false if compaction has caught up with the limit
+     */
+    private boolean foldBatch(long limit) {
+        long from = lockWatermark();
+        Long to = namedParameterJdbcTemplate.queryForObject(BATCH_END_SQL, new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("limit", limit)
+                .addValue("batchSize", compactionBatchSize), Long.class);
+        if (to == null) {
+            return false;
+        }
+        namedParameterJdbcTemplate.update(FOLD_MOVEMENTS_SQL, new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("snapshotAt", LocalDateTime.now()));
+        return true;
+    }
+
+    /**
+     * Lock the snapshot row holding the highest folded commit sequence number and return that number.
+     * Locking a row rather than aggregating keeps the lock effective when MAX is answered from the index.
+     *
+     * @return highest folded commit sequence number, or 0 if nothing has been folded yet
+     */
+    private long lockWatermark() {
+        List<Long> watermark = namedParameterJdbcTemplate.getJdbcTemplate().queryForList(LOCK_WATERMARK_SQL, Long.class);
+        return watermark.isEmpty() ? 0L : watermark.get(0);
+    }
+
+    /**
+     * Convert InventoryMovement entity to InventoryMovementDTO.
+     *
+     * @param movement the movement entity
+     * @return movement DTO
+     */
+    private InventoryMovementDTO convertToDTO(InventoryMovement movement) {
+        return InventoryMovementDTO.builder()
+                .id(movement.getId())
+                .productId(movement.getProductId())
+                .movementType(movement.getMovementType())
+                .quantity(movement.getQuantity())
+                .referenceId(movement.getReferenceId())
+                .createdAt(movement.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,236 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.StockLevelDTO;
+import com.ecommerce.product.entity.InventoryMovementType;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.ProductsChangedEvent;
+import com.ecommerce.product.exception.InvalidOperationException;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Service class for product stock reservations.
+ * Hot items are served from in-memory counters by {@link HotStockService}; all other products are
+ * decremented with a single conditional update, so no read-modify-write cycle is needed.
+ * Database work joins the caller's transaction when there is one; the hot path takes no connection.
+ * Every database stock change is recorded in the inventory ledger; hot-item movements are recorded
+ * when their counters are flushed.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryService {
+
+    private final ProductRepository productRepository;
+    private final HotStockService hotStockService;
+    private final ProductChangeFeedService productChangeFeedService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Get the current stock level of a product.
+     *
+     * @param productId the product ID
+     * @return stock level DTO
+     */
+    public StockLevelDTO getStockLevel(Long productId) {
+        OptionalLong hot = hotStockService.available(productId);
+        if (hot.isPresent()) {
+            return new StockLevelDTO(productId, hot.getAsLong(), true);
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        return new StockLevelDTO(productId, product.getStockQuantity().longValue(), product.getHotItem());
+    }
+
+    /**
+     * Reserve stock of a product.
+     * When called inside a transaction, a hot-item reservation is returned automatically if that
+     * transaction rolls back.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to reserve
+     * @return stock level after the reservation
+     * @throws InvalidOperationException if the product is inactive or there is not enough stock
+     */
+    public StockLevelDTO reserveStock(Long productId, int quantity) {
+        return reserveStock(productId, quantity, null);
+    }
+
+    /**
+     * Reserve stock of a product on behalf of a reference such as a hold.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to reserve
+     * @param referenceId reference recorded with the ledger movement, may be null
+     * @return stock level after the reservation
+     * @throws InvalidOperationException if the product is inactive or there is not enough stock
+     */
+    public StockLevelDTO reserveStock(Long productId, int quantity, String referenceId) {
+        log.debug("Reserving {} units of product {}", quantity, productId);
+        if (hotStockService.reserve(productId, quantity)) {
+            releaseOnRollback(productId, quantity);
+            return getStockLevel(productId);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (productRepository.decrementStock(productId, quantity, LocalDateTime.now()) == 0) {
+                Product product = productRepository.findById(productId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+                if (!Boolean.TRUE.equals(product.getIsActive())) {
+                    throw new InvalidOperationException("Product with id " + productId + " is not active");
+                }
+                if (Boolean.TRUE.equals(product.getHotItem())) {
+                    if (!hotStockService.isOwner()) {
+                        throw new InvalidOperationException("Stock of hot product id " + productId +
+                                " is served by another product-service instance");
+                    }
+                    throw new InvalidOperationException("Stock of product id " + productId +
+                            " is switching inventory mode, please retry");
+                }
+                throw new InvalidOperationException("Insufficient stock for product id " + productId +
+                        ". Available: " + product.getStockQuantity() + ", Requested: " + quantity);
+            }
+            inventoryLedgerService.record(productId, InventoryMovementType.RESERVATION, -quantity, referenceId);
+            stockChanged(productId);
+        });
+        return getStockLevel(productId);
+    }
+
+    /**
+     * Return previously reserved stock of a product.
+     * When called inside a transaction, stock of a hot item is returned only once that transaction commits.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to return
+     * @return stock level after the release
+     */
+    public StockLevelDTO releaseStock(Long productId, int quantity) {
+        return releaseStock(productId, quantity, null);
+    }
+
+    /**
+     * Return previously reserved stock of a product on behalf of a reference such as a hold.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to return
+     * @param referenceId reference recorded with the ledger movement, may be null
+     * @return stock level after the release
+     */
+    public StockLevelDTO releaseStock(Long productId, int quantity, String referenceId) {
+        log.debug("Releasing {} units of product {}", quantity, productId);
+        return addStock(productId, quantity, InventoryMovementType.RELEASE, referenceId);
+    }
+
+    /**
+     * Receive new stock of a product, for example from a supplier delivery.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity received
+     * @param referenceId reference recorded with the ledger movement, may be null
+     * @return stock level after the receipt
+     */
+    public StockLevelDTO receiveStock(Long productId, int quantity, String referenceId) {
+        log.debug("Receiving {} units of product {}", quantity, productId);
+        return addStock(productId, quantity, InventoryMovementType.RECEIPT, referenceId);
+    }
+
+    private StockLevelDTO addStock(Long productId, int quantity, InventoryMovementType movementType, String referenceId) {
+        if (hotStockService.isHot(productId) && TransactionSynchronizationManager.isSynchronizationActive()) {
+            addAfterCommit(productId, quantity, movementType, referenceId);
+            return getStockLevel(productId);
+        }
+        if (hotStockService.release(productId, quantity)) {
+            return getStockLevel(productId);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> addToDatabase(productId, quantity, movementType, referenceId));
+        return getStockLevel(productId);
+    }
+
+    private void addToDatabase(Long productId, int quantity, InventoryMovementType movementType, String referenceId) {
+        if (productRepository.adjustStock(productId, quantity, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        inventoryLedgerService.record(productId, movementType, quantity, referenceId);
+        stockChanged(productId);
+    }
+
+    /**
+     * Record a database stock change in the change feed and invalidate caches after commit.
+     */
+    private void stockChanged(Long productId) {
+        productChangeFeedService.recordUpdates(List.of(productId));
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(productId)));
+    }
+
+    /**
+     * Counter reservations are not transactional, so undo them if the surrounding transaction fails.
+     * If the product stopped being hot meanwhile, its counter was flushed with the reservation in it,
+     * so the units are returned to the database instead.
+     */
+    private void releaseOnRollback(Long productId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                log.debug("Transaction rolled back, returning {} units of hot product {}", quantity, productId);
+                try {
+                    if (!hotStockService.release(productId, quantity)) {
+                        newTransaction().executeWithoutResult(tx ->
+                                addToDatabase(productId, quantity, InventoryMovementType.RELEASE, null));
+                    }
+                } catch (RuntimeException ex) {
+                    log.error("Failed to return {} units of product {} after rollback: {}", quantity, productId, ex.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Add hot-item stock once the surrounding transaction has committed, so a rollback cannot
+     * leave stock returned twice. Falls back to the database if the product stopped being hot.
+     */
+    private void addAfterCommit(Long productId, int quantity, InventoryMovementType movementType, String referenceId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (!hotStockService.release(productId, quantity)) {
+                    newTransaction().executeWithoutResult(status ->
+                            addToDatabase(productId, quantity, movementType, referenceId));
+                }
+            }
+        });
+    }
+
+    /**
+     * Template for database work from a transaction synchronization callback, where the completed
+     * transaction's resources are still bound and must not be joined.
+     */
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
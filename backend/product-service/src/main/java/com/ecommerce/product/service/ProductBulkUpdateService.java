@@ -0,0 +1,237 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.BulkProductUpdateRequest;
+import com.ecommerce.product.dto.BulkProductUpdateResult;
+import com.ecommerce.product.event.ProductsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class for bulk product updates.
+ * Applies price, stock and status changes as set-based JDBC batch updates in chunks, one
+ * transaction per chunk, instead of loading and saving each product individually.
+ * Every update bumps the optimistic-locking version so concurrent JPA writers detect the change.
+ * Stock of hot items is owned by their in-memory counter, so stock values for them are ignored.
+ * Stock changes are recorded in the inventory ledger as adjustments before the update is applied.
+ * Activation changes are applied to the category product counts.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBulkUpdateService {
+
+    private static final String UPDATE_PRODUCT_SQL =
+            "UPDATE products SET price = COALESCE(?, price), " +
+            "stock_quantity = CASE WHEN is_hot_item THEN stock_quantity ELSE COALESCE(?, stock_quantity) END, " +
+            "is_active = COALESCE(?, is_active), version = version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String BULK_UPDATE_REFERENCE = "bulk-update";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductChangeFeedService productChangeFeedService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final CategoryHierarchyService categoryHierarchyService;
+
+    @Value("${product.bulk-update.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Apply a bulk update.
+     * Items are processed in chunks; each chunk is committed on its own and emits a single
+     * {@link ProductsChangedEvent} for the products it changed.
+     *
+     * @param request the bulk update request
+     * @return result with counts and per-item errors
+     */
+    public BulkProductUpdateResult updateProducts(BulkProductUpdateRequest request) {
+        List<BulkProductUpdateRequest.Item> items = request.getItems();
+        log.info("Bulk updating {} products in chunks of {}", items.size(), chunkSize);
+
+        List<BulkProductUpdateResult.ItemError> errors = new ArrayList<>();
+        int updated = 0;
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            int to = Math.min(items.size(), from + chunkSize);
+            int offset = from;
+            List<BulkProductUpdateRequest.Item> chunk = items.subList(from, to);
+            updated += transactionTemplate.execute(status -> applyChunk(chunk, offset, errors));
+        }
+
+        log.info("Bulk update finished - requested: {}, updated: {}, failed: {}",
+                items.size(), updated, errors.size());
+        return BulkProductUpdateResult.builder()
+                .requestedCount(items.size())
+                .updatedCount(updated)
+                .failedCount(errors.size())
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Apply one chunk inside the current transaction.
+     *
+     * @return number of products updated
+     */
+    private int applyChunk(List<BulkProductUpdateRequest.Item> chunk, int offset,
+                           List<BulkProductUpdateResult.ItemError> errors) {
+        Map<String, Long> idsBySku = resolveSkus(chunk);
+
+        List<Long> ids = new ArrayList<>(chunk.size());
+        List<BulkProductUpdateRequest.Item> rows = new ArrayList<>(chunk.size());
+        List<Integer> indexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkProductUpdateRequest.Item item = chunk.get(i);
+            int index = offset + i;
+            if (item.getId() == null && item.getSku() == null) {
+                errors.add(new BulkProductUpdateResult.ItemError(index, null, null, "Either id or sku is required"));
+                continue;
+            }
+            if (item.getPrice() == null && item.getStockQuantity() == null && item.getIsActive() == null) {
+                errors.add(new BulkProductUpdateResult.ItemError(index, item.getId(), item.getSku(), "Nothing to update"));
+                continue;
+            }
+            Long id = item.getId() != null ? item.getId() : idsBySku.get(item.getSku());
+            if (id == null) {
+                errors.add(new BulkProductUpdateResult.ItemError(index, null, item.getSku(),
+                        "Product not found with sku: " + item.getSku()));
+                continue;
+            }
+            ids.add(id);
+            rows.add(item);
+            indexes.add(index);
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> stockTargets = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getStockQuantity() != null) {
+                stockTargets.put(ids.get(i), rows.get(i).getStockQuantity());
+            }
+        }
+        inventoryLedgerService.recordStockTargets(stockTargets, BULK_UPDATE_REFERENCE);
+        Map<Long, Integer> countDeltas = activationCountDeltas(ids, rows);
+
+        LocalDateTime now = LocalDateTime.now();
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_PRODUCT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BulkProductUpdateRequest.Item item = rows.get(i);
+                ps.setObject(1, item.getPrice(), Types.DECIMAL);
+                ps.setObject(2, item.getStockQuantity(), Types.INTEGER);
+                ps.setObject(3, item.getIsActive(), Types.BOOLEAN);
+                ps.setObject(4, now);
+                ps.setLong(5, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        Set<Long> changed = new LinkedHashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                changed.add(ids.get(i));
+            } else {
+                BulkProductUpdateRequest.Item item = rows.get(i);
+                errors.add(new BulkProductUpdateResult.ItemError(indexes.get(i), ids.get(i), item.getSku(),
+                        "Product not found with id: " + ids.get(i)));
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            categoryHierarchyService.adjustProductCounts(countDeltas);
+            productChangeFeedService.recordUpdates(changed);
+            eventPublisher.publishEvent(new ProductsChangedEvent(changed));
+        }
+        return changed.size();
+    }
+
+    /**
+     * Work out how the category product counts change when the items' active flags are applied.
+     * The affected rows are locked first so their current flags cannot change before the update.
+     */
+    private Map<Long, Integer> activationCountDeltas(List<Long> ids, List<BulkProductUpdateRequest.Item> rows) {
+        Set<Long> toggled = new LinkedHashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getIsActive() != null) {
+                toggled.add(ids.get(i));
+            }
+        }
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (toggled.isEmpty()) {
+            return deltas;
+        }
+
+        Map<Long, Long> categories = new HashMap<>();
+        Map<Long, Boolean> active = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, category_id, is_active FROM products WHERE id IN (:ids) FOR UPDATE",
+                new MapSqlParameterSource("ids", toggled),
+                rs -> {
+                    categories.put(rs.getLong("id"), rs.getLong("category_id"));
+                    active.put(rs.getLong("id"), rs.getBoolean("is_active"));
+                });
+        // Apply the items in order so repeated IDs in one chunk are counted once per actual flip
+        for (int i = 0; i < rows.size(); i++) {
+            Boolean target = rows.get(i).getIsActive();
+            Long id = ids.get(i);
+            if (target == null || !active.containsKey(id) || active.get(id).equals(target)) {
+                continue;
+            }
+            active.put(id, target);
+            deltas.merge(categories.get(id), target ? 1 : -1, Integer::sum);
+        }
+        return deltas;
+    }
+
+    /**
+     * Resolve the SKUs of items without an ID in a single query.
+     */
+    private Map<String, Long> resolveSkus(List<BulkProductUpdateRequest.Item> chunk) {
+        Set<String> skus = new LinkedHashSet<>();
+        for (BulkProductUpdateRequest.Item item : chunk) {
+            if (item.getId() == null && item.getSku() != null) {
+                skus.add(item.getSku());
+            }
+        }
+        Map<String, Long> idsBySku = new HashMap<>();
+        if (skus.isEmpty()) {
+            return idsBySku;
+        }
+        namedParameterJdbcTemplate.query("SELECT id, sku FROM products WHERE sku IN (:skus)",
+                new MapSqlParameterSource("skus", skus),
+                rs -> {
+                    idsBySku.put(rs.getString("sku"), rs.getLong("id"));
+                });
+        return idsBySku;
+    }
+}
@@ -0,0 +1,199 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductChangeDTO;
+import com.ecommerce.product.dto.ProductChangePage;
+import com.ecommerce.product.dto.ProductDTO;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.entity.ProductChange;
+import com.ecommerce.product.entity.ProductChangeType;
+import com.ecommerce.product.exception.InvalidOperationException;
+import com.ecommerce.product.repository.ProductChangeRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the product change feed.
+ * Appends change log entries in the caller's transaction and serves them in commit order from an
+ * opaque, resumable cursor.
+ *
+ * <p>Entries are served by the sequence number the {@link CommitSequencer} gives them after their
+ * transaction has committed, so an entry whose transaction runs long is numbered after the entries
+ * that committed before it rather than behind a cursor that has already moved on.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ProductChangeFeedService {
+
+    private static final String INSERT_UPDATES_SQL =
+            "INSERT INTO product_change_log (product_id, change_type, product_version, changed_at) " +
+            "SELECT id, CASE WHEN is_active THEN 'UPDATED' ELSE 'DEACTIVATED' END, version, :changedAt " +
+            "FROM products WHERE id IN (:ids)";
+
+    private static final String INSERT_CREATIONS_SQL =
+            "INSERT INTO product_change_log (product_id, change_type, product_version, changed_at) " +
+            "SELECT id, 'CREATED', version, :changedAt FROM products WHERE sku IN (:skus)";
+
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${product.change-feed.max-page-size:1000}")
+    private int maxPageSize;
+
+    /**
+     * Record a change of a single product.
+     * Must be called inside the transaction that wrote the product, after its version was flushed.
+     *
+     * @param product the changed product
+     * @param changeType the type of change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Product product, ProductChangeType changeType) {
+        productChangeRepository.save(ProductChange.builder()
+                .productId(product.getId())
+                .changeType(changeType)
+                .productVersion(product.getVersion())
+                .changedAt(now())
+                .build());
+    }
+
+    /**
+     * Record updates of many products with one set-based insert.
+     * Products that are inactive after the update are recorded as deactivated.
+     *
+     * @param productIds IDs of the updated products
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdates(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(INSERT_UPDATES_SQL, new MapSqlParameterSource()
+                .addValue("ids", productIds)
+                .addValue("changedAt", now()));
+    }
+
+    /**
+     * Record creation of many products, identified by SKU, with one set-based insert.
+     *
+     * @param skus SKUs of the created products
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreations(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(INSERT_CREATIONS_SQL, new MapSqlParameterSource()
+                .addValue("skus", skus)
+                .addValue("changedAt", now()));
+    }
+
+    /**
+     * Read the changes following a cursor.
+     *
+     * @param cursor cursor returned by a previous read, or null to start from the beginning
+     * @param limit maximum number of changes to return
+     * @return page of changes with the cursor to continue from
+     */
+    public ProductChangePage readChanges(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        long position = parseCursor(cursor);
+
+        List<ProductChange> changes = productChangeRepository.findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(
+                position, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+
+        Map<Long, ProductDTO> products = loadProducts(changes);
+        List<ProductChangeDTO> dtos = new ArrayList<>(changes.size());
+        for (ProductChange change : changes) {
+            dtos.add(ProductChangeDTO.builder()
+                    .cursor(String.valueOf(change.getSequenceNumber()))
+                    .productId(change.getProductId())
+                    .changeType(change.getChangeType())
+                    .productVersion(change.getProductVersion())
+                    .changedAt(change.getChangedAt())
+                    .product(products.get(change.getProductId()))
+                    .build());
+        }
+
+        String nextCursor = dtos.isEmpty() ? String.valueOf(position) : dtos.get(dtos.size() - 1).getCursor();
+        return ProductChangePage.builder()
+                .changes(dtos)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Cursor positioned after the latest change that readers can currently see.
+     * Reading from it later returns every change that becomes visible afterwards.
+     *
+     * @return cursor, or null if no change has been sequenced yet
+     */
+    public String latestCursor() {
+        Long latest = productChangeRepository.findMaxSequenceNumber();
+        return latest != null ? String.valueOf(latest) : null;
+    }
+
+    /**
+     * Load the current state of the products referenced by a page of changes.
+     */
+    private Map<Long, ProductDTO> loadProducts(List<ProductChange> changes) {
+        List<Long> ids = changes.stream()
+                .map(ProductChange::getProductId)
+                .distinct()
+                .collect(Collectors.toList());
+        List<Product> products = productRepository.findAllById(ids);
+        return productMapper.toDTOs(products).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+    }
+
+    /**
+     * Parse a cursor into the sequence number to read after.
+     */
+    private long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            long position = Long.parseLong(cursor);
+            if (position < 0) {
+                throw new InvalidOperationException("Invalid change feed cursor: " + cursor);
+            }
+            return position;
+        } catch (NumberFormatException ex) {
+            throw new InvalidOperationException("Invalid change feed cursor: " + cursor);
+        }
+    }
+
+    private static LocalDateTime now() {
+        // Truncate to the column precision so the returned time matches the stored one
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductChangeDTO;
+import com.ecommerce.product.dto.ProductChangePage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class streaming the product change feed as Server-Sent Events.
+ * Each subscription polls the change log from its own cursor on a shared scheduler and sends every
+ * change as an event whose ID is the change cursor, so clients resume with Last-Event-ID.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ProductChangeStreamService {
+
+    private static final int MAX_PAGES_PER_POLL = 10;
+
+    private final ProductChangeFeedService productChangeFeedService;
+    private final ScheduledExecutorService scheduler;
+
+    @Value("${product.change-feed.stream.poll-interval:PT1S}")
+    private Duration pollInterval;
+
+    @Value("${product.change-feed.stream.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
+    @Value("${product.change-feed.stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${product.change-feed.stream.batch-size:100}")
+    private int batchSize;
+
+    public ProductChangeStreamService(ProductChangeFeedService productChangeFeedService,
+                                      @Value("${product.change-feed.stream.threads:2}") int threads) {
+        this.productChangeFeedService = productChangeFeedService;
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "product-change-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a change stream starting after the given cursor.
+     *
+     * @param cursor cursor to resume from, or null to start from the beginning
+     * @return SSE emitter delivering change events
+     */
+    public SseEmitter subscribe(String cursor) {
+        // Validate the cursor up front so a bad cursor fails the request instead of the stream
+        productChangeFeedService.readChanges(cursor, 1);
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter, cursor);
+        ScheduledFuture<?> task = scheduler.scheduleWithFixedDelay(
+                subscription::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        subscription.task = task;
+
+        emitter.onCompletion(() -> task.cancel(false));
+        emitter.onTimeout(() -> task.cancel(false));
+        emitter.onError(ex -> task.cancel(false));
+        log.debug("Opened product change stream from cursor: {}", cursor);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * State of a single stream subscriber.
+     */
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private String cursor;
+        private long lastSentAt = System.nanoTime();
+        private volatile ScheduledFuture<?> task;
+
+        private Subscription(SseEmitter emitter, String cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void poll() {
+            try {
+                for (int i = 0; i < MAX_PAGES_PER_POLL; i++) {
+                    ProductChangePage page = productChangeFeedService.readChanges(cursor, batchSize);
+                    for (ProductChangeDTO change : page.getChanges()) {
+                        emitter.send(SseEmitter.event()
+                                .id(change.getCursor())
+                                .name("product-change")
+                                .data(change));
+                        lastSentAt = System.nanoTime();
+                    }
+                    cursor = page.getNextCursor();
+                    if (!page.isHasMore()) {
+                        break;
+                    }
+                }
+                if (System.nanoTime() - lastSentAt >= heartbeatInterval.toNanos()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    lastSentAt = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Product change stream closed: {}", ex.getMessage());
+                cancel();
+            } catch (RuntimeException ex) {
+                log.error("Product change stream failed: {}", ex.getMessage());
+                emitter.completeWithError(ex);
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+    }
+}
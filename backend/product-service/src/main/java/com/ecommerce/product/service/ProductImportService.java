@@ -0,0 +1,374 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.dto.ProductImportResult;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk product imports.
+ * Streams CSV or NDJSON input row by row, validates each row against an in-memory SKU set and
+ * category map, and writes accepted rows with JDBC batch inserts, one transaction per batch.
+ * Memory use is bounded by the batch size and the SKU set, not by the size of the input.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (name, description, price, stock_quantity, category_id, image_url, sku, " +
+            "is_active, is_hot_item, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, FALSE, 0, ?, ?)";
+
+    private static final String IMPORT_REFERENCE = "import";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductChangeFeedService productChangeFeedService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final CategoryHierarchyService categoryHierarchyService;
+
+    @Value("${product.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${product.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Supported input formats for bulk import.
+     */
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Import products from a stream.
+     * CSV input must start with a header row naming the columns (sku, name, description, price,
+     * stockQuantity, categoryId or categoryName, imageUrl). NDJSON input has one product object per line.
+     *
+     * @param input the input stream
+     * @param format the input format
+     * @return import result with counts and per-row errors
+     * @throws IOException if reading the input fails
+     */
+    public ProductImportResult importProducts(InputStream input, Format format) throws IOException {
+        log.info("Starting bulk product import - format: {}, batchSize: {}", format, batchSize);
+        long start = System.nanoTime();
+
+        ImportContext context = new ImportContext(loadSkus(), loadCategories());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                readCsv(reader, context);
+            } else {
+                readNdjson(reader, context);
+            }
+        }
+        flush(context);
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk product import finished - rows: {}, imported: {}, failed: {}, duration: {} ms",
+                context.totalRows, context.imported, context.failed, durationMs);
+
+        return ProductImportResult.builder()
+                .totalRows(context.totalRows)
+                .importedCount(context.imported)
+                .failedCount(context.failed)
+                .durationMs(durationMs)
+                .rowsPerSecond(context.totalRows * 1000 / durationMs)
+                .errors(context.errors)
+                .errorsTruncated(context.failed > context.errors.size())
+                .build();
+    }
+
+    /**
+     * Read CSV records and feed them to the import context.
+     */
+    private void readCsv(BufferedReader reader, ImportContext context) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            long row = ++context.totalRows;
+            String sku = column(record, columns, "sku");
+            try {
+                CreateProductRequest request = CreateProductRequest.builder()
+                        .sku(sku)
+                        .name(column(record, columns, "name"))
+                        .description(column(record, columns, "description"))
+                        .price(parseDecimal(column(record, columns, "price")))
+                        .stockQuantity(parseInteger(column(record, columns, "stockquantity")))
+                        .categoryId(parseLong(column(record, columns, "categoryid")))
+                        .imageUrl(column(record, columns, "imageurl"))
+                        .build();
+                accept(row, request, column(record, columns, "categoryname"), context);
+            } catch (NumberFormatException ex) {
+                context.reject(row, sku, "Invalid number: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Read NDJSON lines and feed them to the import context.
+     */
+    private void readNdjson(BufferedReader reader, ImportContext context) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = ++context.totalRows;
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!(node instanceof ObjectNode object)) {
+                    context.reject(row, null, "Expected a JSON object");
+                    continue;
+                }
+                JsonNode categoryName = object.remove("categoryName");
+                CreateProductRequest request = objectMapper.treeToValue(object, CreateProductRequest.class);
+                accept(row, request, categoryName != null ? categoryName.asText() : null, context);
+            } catch (JsonProcessingException ex) {
+                context.reject(row, null, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Validate a parsed row and add it to the current batch if it is acceptable.
+     */
+    private void accept(long row, CreateProductRequest request, String categoryName, ImportContext context) {
+        if (request.getCategoryId() == null && categoryName != null && !categoryName.isBlank()) {
+            request.setCategoryId(context.categoryIdsByName.get(categoryName.trim().toLowerCase(Locale.ROOT)));
+            if (request.getCategoryId() == null) {
+                context.reject(row, request.getSku(), "Category not found with name: " + categoryName);
+                return;
+            }
+        }
+
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            context.reject(row, request.getSku(), message);
+            return;
+        }
+
+        if (!context.categoryIds.contains(request.getCategoryId())) {
+            context.reject(row, request.getSku(), "Category not found with id: " + request.getCategoryId());
+            return;
+        }
+
+        // Also rejects SKUs repeated within the same file
+        if (!context.skus.add(request.getSku())) {
+            context.reject(row, request.getSku(), "Product with SKU " + request.getSku() + " already exists");
+            return;
+        }
+
+        context.batch.add(new PendingRow(row, request));
+        if (context.batch.size() >= batchSize) {
+            flush(context);
+        }
+    }
+
+    /**
+     * Write the pending batch in one transaction.
+     * If the batch fails (for example a SKU created concurrently through the API), the rows are
+     * retried one by one so that only the offending rows are reported.
+     */
+    private void flush(ImportContext context) {
+        List<PendingRow> rows = context.batch;
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rows));
+            context.imported += rows.size();
+        } catch (DataAccessException ex) {
+            log.warn("Batch insert of {} rows failed, retrying individually: {}", rows.size(), ex.getMessage());
+            for (PendingRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(List.of(row)));
+                    context.imported++;
+                } catch (DuplicateKeyException e) {
+                    context.reject(row.rowNumber, row.request.getSku(),
+                            "Product with SKU " + row.request.getSku() + " already exists");
+                } catch (DataAccessException e) {
+                    context.reject(row.rowNumber, row.request.getSku(), e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        context.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Insert rows with a single JDBC batch and record their creation in the change log and their
+     * initial stock in the inventory ledger.
+     */
+    private void insertBatch(List<PendingRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CreateProductRequest request = rows.get(i).request;
+                ps.setString(1, request.getName());
+                ps.setString(2, request.getDescription());
+                ps.setBigDecimal(3, request.getPrice());
+                ps.setInt(4, request.getStockQuantity());
+                ps.setLong(5, request.getCategoryId());
+                ps.setString(6, request.getImageUrl());
+                ps.setString(7, request.getSku());
+                ps.setObject(8, now);
+                ps.setObject(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        List<String> skus = rows.stream()
+                .map(row -> row.request.getSku())
+                .collect(Collectors.toList());
+        productChangeFeedService.recordCreations(skus);
+        inventoryLedgerService.recordReceipts(skus, IMPORT_REFERENCE);
+        categoryHierarchyService.adjustProductCounts(rows.stream()
+                .collect(Collectors.toMap(row -> row.request.getCategoryId(), row -> 1, Integer::sum)));
+    }
+
+    /**
+     * Preload all existing SKUs so that duplicate checks do not hit the database per row.
+     */
+    private Set<String> loadSkus() {
+        Set<String> skus = new HashSet<>();
+        jdbcTemplate.query("SELECT sku FROM products", rs -> {
+            skus.add(rs.getString(1));
+        });
+        log.debug("Preloaded {} SKUs for import", skus.size());
+        return skus;
+    }
+
+    /**
+     * Preload categories keyed by ID and by lower-cased name.
+     */
+    private Map<String, Long> loadCategories() {
+        Map<String, Long> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(category.getName().toLowerCase(Locale.ROOT), category.getId());
+        }
+        return categories;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static Integer parseInteger(String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    /**
+     * A validated row waiting to be written.
+     */
+    private static final class PendingRow {
+        private final long rowNumber;
+        private final CreateProductRequest request;
+
+        private PendingRow(long rowNumber, CreateProductRequest request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Mutable state of a single import run.
+     */
+    private final class ImportContext {
+        private final Set<String> skus;
+        private final Map<String, Long> categoryIdsByName;
+        private final Set<Long> categoryIds;
+        private final List<ProductImportResult.RowError> errors = new ArrayList<>();
+        private List<PendingRow> batch = new ArrayList<>(batchSize);
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        private ImportContext(Set<String> skus, Map<String, Long> categoryIdsByName) {
+            this.skus = skus;
+            this.categoryIdsByName = categoryIdsByName;
+            this.categoryIds = new HashSet<>(categoryIdsByName.values());
+        }
+
+        private void reject(long row, String sku, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportResult.RowError(row, sku, message));
+            }
+        }
+    }
+}
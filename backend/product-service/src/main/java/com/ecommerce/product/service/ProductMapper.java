@@ -0,0 +1,92 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.cache.CategoryNameCache;
+import com.ecommerce.product.dto.ProductDTO;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps Product entities to ProductDTOs, resolving category names.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductMapper {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryNameCache categoryNameCache;
+
+    /**
+     * Convert a Product entity to a ProductDTO.
+     * The category name is taken from the category name cache.
+     *
+     * @param product the product entity
+     * @return product DTO
+     */
+    public ProductDTO toDTO(Product product) {
+        String categoryName = null;
+        if (product.getCategoryId() != null) {
+            categoryName = categoryNameCache.get(product.getCategoryId(), id -> categoryRepository.findById(id)
+                    .map(Category::getName)
+                    .orElse(null));
+        }
+        return toDTO(product, categoryName);
+    }
+
+    /**
+     * Convert a collection of Product entities to ProductDTOs.
+     * Category names are resolved with a single query for all products.
+     *
+     * @param products the product entities
+     * @return list of product DTOs in the same order
+     */
+    public List<ProductDTO> toDTOs(Collection<Product> products) {
+        Set<Long> categoryIds = products.stream()
+                .map(Product::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> categoryNames = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+        return products.stream()
+                .map(product -> toDTO(product, categoryNames.get(product.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Convert a Product entity to a ProductDTO with an already resolved category name.
+     *
+     * @param product the product entity
+     * @param categoryName the category name
+     * @return product DTO
+     */
+    public ProductDTO toDTO(Product product, String categoryName) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity())
+                .categoryId(product.getCategoryId())
+                .categoryName(categoryName)
+                .imageUrl(product.getImageUrl())
+                .sku(product.getSku())
+                .isActive(product.getIsActive())
+                .hotItem(product.getHotItem())
+                .version(product.getVersion())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+}
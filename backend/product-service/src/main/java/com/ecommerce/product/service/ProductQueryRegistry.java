@@ -0,0 +1,202 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.exception.InvalidOperationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Registry of precompiled product listing queries.
+ * The listing supports a bounded set of optional filters, so one parameterized JPQL query per filter
+ * combination and sort order (plus one count query per combination) is registered as a named query
+ * at startup. Requests pick their query by bitmask, so no criteria tree is built or translated per
+ * request. Execution time is recorded per filter combination to show which shapes need indexes.
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductQueryRegistry {
+
+    /** Product fields the listing can be sorted by. */
+    public static final List<String> SORTABLE_FIELDS = List.of(
+            "id", "name", "price", "stockQuantity", "categoryId", "sku", "isActive", "createdAt", "updatedAt");
+
+    private static final int KEYWORD = 1;
+    private static final int CATEGORY = 1 << 1;
+    private static final int MIN_PRICE = 1 << 2;
+    private static final int MAX_PRICE = 1 << 3;
+    private static final int IN_STOCK = 1 << 4;
+    private static final int COMBINATIONS = 1 << 5;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+    private final Timer[] timers = new Timer[COMBINATIONS];
+
+    /**
+     * Compile and register the select and count queries of every filter combination.
+     */
+    @PostConstruct
+    public void registerQueries() {
+        EntityManager compiler = entityManagerFactory.createEntityManager();
+        try {
+            for (int filters = 0; filters < COMBINATIONS; filters++) {
+                String where = whereClause(filters);
+                entityManagerFactory.addNamedQuery(countQueryName(filters),
+                        compiler.createQuery("SELECT COUNT(p) FROM Product p" + where, Long.class));
+                for (String field : SORTABLE_FIELDS) {
+                    for (Sort.Direction direction : Sort.Direction.values()) {
+                        entityManagerFactory.addNamedQuery(selectQueryName(filters, field, direction),
+                                compiler.createQuery("SELECT p.id FROM Product p" + where + orderBy(field, direction), Long.class));
+                    }
+                }
+                timers[filters] = Timer.builder("product.query")
+                        .description("Time taken to list products, per filter combination")
+                        .tag("filters", describe(filters))
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry);
+            }
+        } finally {
+            compiler.close();
+        }
+        log.info("Registered {} product listing queries", COMBINATIONS * (SORTABLE_FIELDS.size() * 2 + 1));
+    }
+
+    /**
+     * Find a page of IDs of active products matching the given filters.
+     * Only IDs are selected so the products themselves can be served from the product cache.
+     * Null filters are not applied.
+     *
+     * @param keyword name keyword
+     * @param categoryId category ID; products of its subcategories are included
+     * @param minPrice minimum price
+     * @param maxPrice maximum price
+     * @param inStock whether to return only products in stock
+     * @param sortBy field to sort by, one of {@link #SORTABLE_FIELDS}
+     * @param direction sort direction
+     * @param page page number
+     * @param size page size
+     * @return page of product IDs
+     * @throws InvalidOperationException if the sort field is not supported
+     */
+    public Page<Long> findActiveProductIds(String keyword, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                            boolean inStock, String sortBy, Sort.Direction direction,
+                                            int page, int size) {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new InvalidOperationException("Cannot sort products by " + sortBy + ". Supported fields: " + SORTABLE_FIELDS);
+        }
+        String pattern = keyword != null && !keyword.trim().isEmpty() ? "%" + keyword.toLowerCase() + "%" : null;
+        int filters = (pattern != null ? KEYWORD : 0)
+                | (categoryId != null ? CATEGORY : 0)
+                | (minPrice != null ? MIN_PRICE : 0)
+                | (maxPrice != null ? MAX_PRICE : 0)
+                | (inStock ? IN_STOCK : 0);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        return timers[filters].record(() -> {
+            TypedQuery<Long> query = entityManager.createNamedQuery(selectQueryName(filters, sortBy, direction), Long.class);
+            bind(query, filters, pattern, categoryId, minPrice, maxPrice);
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(size);
+            List<Long> content = query.getResultList();
+
+            return PageableExecutionUtils.getPage(content, pageable, () -> {
+                TypedQuery<Long> count = entityManager.createNamedQuery(countQueryName(filters), Long.class);
+                bind(count, filters, pattern, categoryId, minPrice, maxPrice);
+                return count.getSingleResult();
+            });
+        });
+    }
+
+    private void bind(TypedQuery<?> query, int filters, String pattern, Long categoryId,
+                      BigDecimal minPrice, BigDecimal maxPrice) {
+        if ((filters & KEYWORD) != 0) {
+            query.setParameter("pattern", pattern);
+        }
+        if ((filters & CATEGORY) != 0) {
+            query.setParameter("categoryId", categoryId);
+        }
+        if ((filters & MIN_PRICE) != 0) {
+            query.setParameter("minPrice", minPrice);
+        }
+        if ((filters & MAX_PRICE) != 0) {
+            query.setParameter("maxPrice", maxPrice);
+        }
+    }
+
+    private static String whereClause(int filters) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("p.isActive = true");
+        if ((filters & KEYWORD) != 0) {
+            conditions.add("LOWER(p.name) LIKE :pattern");
+        }
+        if ((filters & CATEGORY) != 0) {
+            conditions.add("p.categoryId IN (SELECT cc.id.descendantId FROM CategoryClosure cc WHERE cc.id.ancestorId = :categoryId)");
+        }
+        if ((filters & MIN_PRICE) != 0) {
+            conditions.add("p.price >= :minPrice");
+        }
+        if ((filters & MAX_PRICE) != 0) {
+            conditions.add("p.price <= :maxPrice");
+        }
+        if ((filters & IN_STOCK) != 0) {
+            conditions.add("p.stockQuantity > 0");
+        }
+        return " WHERE " + String.join(" AND ", conditions);
+    }
+
+    /**
+     * Order by the requested field, then by ID so pages are stable when values repeat.
+     */
+    private static String orderBy(String field, Sort.Direction direction) {
+        String order = " ORDER BY p." + field + " " + direction.name();
+        return field.equals("id") ? order : order + ", p.id " + direction.name();
+    }
+
+    private static String selectQueryName(int filters, String field, Sort.Direction direction) {
+        return "Product.list." + filters + "." + field + "." + direction.name();
+    }
+
+    private static String countQueryName(int filters) {
+        return "Product.count." + filters;
+    }
+
+    private static String describe(int filters) {
+        StringJoiner joiner = new StringJoiner("+");
+        if ((filters & KEYWORD) != 0) {
+            joiner.add("keyword");
+        }
+        if ((filters & CATEGORY) != 0) {
+            joiner.add("category");
+        }
+        if ((filters & MIN_PRICE) != 0) {
+            joiner.add("minPrice");
+        }
+        if ((filters & MAX_PRICE) != 0) {
+            joiner.add("maxPrice");
+        }
+        if ((filters & IN_STOCK) != 0) {
+            joiner.add("inStock");
+        }
+        return joiner.length() == 0 ? "none" : joiner.toString();
+    }
+}
@@ -1,25 +1,42 @@
 package com.ecommerce.product.service;
 
+import com.ecommerce.product.cache.ProductCache;
 import com.ecommerce.product.dto.*;
 import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.InventoryMovementType;
 import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.entity.ProductChangeType;
+import com.ecommerce.product.event.ProductsChangedEvent;
 import com.ecommerce.product.exception.DuplicateResourceException;
+import com.ecommerce.product.exception.InvalidOperationException;
 import com.ecommerce.product.exception.ResourceNotFoundException;
 import com.ecommerce.product.repository.CategoryRepository;
 import com.ecommerce.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Product management.
@@ -36,9 +53,22 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductMapper productMapper;
+    private final ProductQueryRegistry productQueryRegistry;
+    private final ProductCache productCache;
+    private final ProductChangeFeedService productChangeFeedService;
+    private final HotStockService hotStockService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final CategoryHierarchyService categoryHierarchyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${product.list.max-results:1000}")
+    private int maxListResults;
 
     /**
      * Get all products with pagination, filtering, and sorting.
+     * The query selects product IDs only; the products are served from the product cache.
      *
      * @param keyword search keyword for product name
      * @param categoryId filter by category ID
@@ -57,78 +87,178 @@ public class ProductService {
         log.debug("Getting products - keyword: {}, categoryId: {}, minPrice: {}, maxPrice: {}, inStock: {}, page: {}, size: {}",
                 keyword, categoryId, minPrice, maxPrice, inStock, page, size);
 
-        Sort sort = sortDir.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
-
-        Specification<Product> spec = Specification.where(null);
-
-        // Build dynamic specifications
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            spec = spec.and(ProductSpecifications.nameContains(keyword));
-        }
-        if (categoryId != null) {
-            spec = spec.and(ProductSpecifications.hasCategoryId(categoryId));
-        }
-        if (minPrice != null) {
-            spec = spec.and(ProductSpecifications.priceGreaterThanOrEqual(minPrice));
-        }
-        if (maxPrice != null) {
-            spec = spec.and(ProductSpecifications.priceLessThanOrEqual(maxPrice));
-        }
-        if (inStock != null && inStock) {
-            spec = spec.and(ProductSpecifications.isInStock());
-        }
-        spec = spec.and(ProductSpecifications.isActive());
-
-        Page<Product> products = productRepository.findAll(spec, pageable);
-        return products.map(this::convertToDTO);
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Page<Long> ids = productQueryRegistry.findActiveProductIds(keyword, categoryId, minPrice, maxPrice,
+                Boolean.TRUE.equals(inStock), sortBy, direction, page, size);
+        Map<Long, ProductDTO> products = productCache.getAll(ids.getContent(), this::loadProducts);
+        List<ProductDTO> content = ids.getContent().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
     }
 
     /**
      * Get a product by ID.
+     * Served from the product cache; runs without a transaction so cache hits never take a connection.
+     * The stock of hot items is taken from their in-memory counter.
      *
      * @param id the product ID
      * @return product DTO
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProductDTO getProductById(Long id) {
         log.debug("Getting product by id: {}", id);
+        ProductDTO product = productCache.get(id, this::loadProduct);
+        OptionalLong hotStock = hotStockService.available(id);
+        if (hotStock.isPresent()) {
+            return product.toBuilder().stockQuantity((int) hotStock.getAsLong()).build();
+        }
+        return product;
+    }
+
+    /**
+     * Load a product from the database.
+     *
+     * @param id the product ID
+     * @return product DTO
+     */
+    private ProductDTO loadProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return convertToDTO(product);
+        return productMapper.toDTO(product);
+    }
+
+    /**
+     * Load several products from the database.
+     *
+     * @param ids the product IDs
+     * @return product DTOs by ID; missing products are left out
+     */
+    private Map<Long, ProductDTO> loadProducts(Set<Long> ids) {
+        return productMapper.toDTOs(productRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
     }
 
     /**
      * Search products by keyword.
+     * Returns at most {@code product.list.max-results} products in ID order.
      *
      * @param keyword the search keyword
      * @return list of product DTOs
      */
     public List<ProductDTO> searchProducts(String keyword) {
         log.debug("Searching products with keyword: {}", keyword);
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(keyword);
-        return products.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<Product> products = productRepository.findByNameContainingIgnoreCase(keyword, listLimit());
+        return productMapper.toDTOs(capped(products, "search for '" + keyword + "'"));
+    }
+
+    /**
+     * Stream all products matching a keyword, in ID order.
+     * Entities are detached once mapped, so memory use does not grow with the result size.
+     *
+     * @param keyword the search keyword
+     * @param action receives each product DTO
+     */
+    public void streamSearchProducts(String keyword, Consumer<ProductDTO> action) {
+        log.debug("Streaming products with keyword: {}", keyword);
+        Map<Long, String> categoryNames = loadCategoryNames();
+        try (Stream<Product> products = productRepository.streamByNameContaining(keyword)) {
+            forEachDetached(products, categoryNames, action);
+        }
     }
 
     /**
-     * Get products by category ID.
+     * Get products by category ID, including products of its subcategories.
+     * Returns at most {@code product.list.max-results} products in ID order.
      *
      * @param categoryId the category ID
      * @return list of product DTOs
      */
     public List<ProductDTO> getProductsByCategory(Long categoryId) {
         log.debug("Getting products by category id: {}", categoryId);
-        // Verify category exists
-        categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
-        
-        List<Product> products = productRepository.findByCategoryId(categoryId);
-        return products.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        requireCategory(categoryId);
+
+        List<Product> products = productRepository.findInCategorySubtree(categoryId, listLimit());
+        return productMapper.toDTOs(capped(products, "category " + categoryId));
+    }
+
+    /**
+     * Verify that a category exists.
+     * Streaming endpoints call this before their response starts, while a 404 can still be sent.
+     *
+     * @param categoryId the category ID
+     * @throws ResourceNotFoundException if the category does not exist
+     */
+    public void requireCategory(Long categoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryId);
+        }
+    }
+
+    /**
+     * Stream all products of a category and its subcategories, in ID order.
+     * Entities are detached once mapped, so memory use does not grow with the result size.
+     * Call {@link #requireCategory(Long)} first; an unknown category streams no products.
+     *
+     * @param categoryId the category ID
+     * @param action receives each product DTO
+     */
+    public void streamProductsByCategory(Long categoryId, Consumer<ProductDTO> action) {
+        log.debug("Streaming products by category id: {}", categoryId);
+        Map<Long, String> categoryNames = loadCategoryNames();
+        try (Stream<Product> products = productRepository.streamInCategorySubtree(categoryId)) {
+            forEachDetached(products, categoryNames, action);
+        }
+    }
+
+    /**
+     * Stream all active products, in ID order.
+     * Entities are detached once mapped, so memory use does not grow with the catalog size.
+     *
+     * @param action receives each product DTO
+     */
+    public void streamActiveProducts(Consumer<ProductDTO> action) {
+        log.debug("Streaming active products");
+        Map<Long, String> categoryNames = loadCategoryNames();
+        try (Stream<Product> products = productRepository.streamActive()) {
+            forEachDetached(products, categoryNames, action);
+        }
+    }
+
+    /**
+     * One extra row beyond the cap is fetched so truncation can be detected.
+     */
+    private Pageable listLimit() {
+        return PageRequest.of(0, maxListResults + 1, Sort.by("id"));
+    }
+
+    private List<Product> capped(List<Product> products, String description) {
+        if (products.size() <= maxListResults) {
+            return products;
+        }
+        log.warn("Result of {} truncated to {} products; use the paged or streaming endpoint", description, maxListResults);
+        return products.subList(0, maxListResults);
+    }
+
+    /**
+     * Map and emit streamed products. The driver streams rows over the connection, which allows no
+     * other statement until the stream is closed, so category names are loaded before it is opened.
+     */
+    private void forEachDetached(Stream<Product> products, Map<Long, String> categoryNames, Consumer<ProductDTO> action) {
+        products.forEach(product -> {
+            String categoryName = product.getCategoryId() == null ? null : categoryNames.get(product.getCategoryId());
+            entityManager.detach(product);
+            action.accept(productMapper.toDTO(product, categoryName));
+        });
+    }
+
+    private Map<Long, String> loadCategoryNames() {
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
     }
 
     /**
@@ -162,8 +292,13 @@ public class ProductService {
                 .build();
 
         Product savedProduct = productRepository.save(product);
+        productChangeFeedService.recordChange(savedProduct, ProductChangeType.CREATED);
+        categoryHierarchyService.adjustProductCount(savedProduct.getCategoryId(), 1);
+        inventoryLedgerService.record(savedProduct.getId(), InventoryMovementType.RECEIPT,
+                savedProduct.getStockQuantity(), null);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(savedProduct.getId())));
         log.info("Product created successfully with id: {}", savedProduct.getId());
-        return convertToDTO(savedProduct);
+        return productMapper.toDTO(savedProduct);
     }
 
     /**
@@ -179,6 +314,8 @@ public class ProductService {
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        Long previousCategoryId = product.getCategoryId();
+        boolean wasActive = Boolean.TRUE.equals(product.getIsActive());
 
         // Update fields if provided
         if (request.getName() != null) {
@@ -191,6 +328,12 @@ public class ProductService {
             product.setPrice(request.getPrice());
         }
         if (request.getStockQuantity() != null) {
+            if (Boolean.TRUE.equals(product.getHotItem())) {
+                throw new InvalidOperationException("Stock of hot item " + id +
+                        " is managed in memory; disable hot-item mode before setting it");
+            }
+            inventoryLedgerService.record(id, InventoryMovementType.ADJUSTMENT,
+                    request.getStockQuantity() - product.getStockQuantity(), null);
             product.setStockQuantity(request.getStockQuantity());
         }
         if (request.getCategoryId() != null) {
@@ -206,9 +349,23 @@ public class ProductService {
             product.setIsActive(request.getIsActive());
         }
 
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        productChangeFeedService.recordChange(updatedProduct, Boolean.FALSE.equals(updatedProduct.getIsActive())
+                ? ProductChangeType.DEACTIVATED
+                : ProductChangeType.UPDATED);
+
+        // The version check of the flush guarantees the previous values were current
+        Map<Long, Integer> countDeltas = new HashMap<>();
+        if (wasActive) {
+            countDeltas.merge(previousCategoryId, -1, Integer::sum);
+        }
+        if (Boolean.TRUE.equals(updatedProduct.getIsActive())) {
+            countDeltas.merge(updatedProduct.getCategoryId(), 1, Integer::sum);
+        }
+        categoryHierarchyService.adjustProductCounts(countDeltas);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id)));
         log.info("Product updated successfully with id: {}", updatedProduct.getId());
-        return convertToDTO(updatedProduct);
+        return productMapper.toDTO(updatedProduct);
     }
 
     /**
@@ -223,75 +380,14 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
+        boolean wasActive = Boolean.TRUE.equals(product.getIsActive());
         product.setIsActive(false);
-        productRepository.save(product);
-        log.info("Product soft deleted successfully with id: {}", id);
-    }
-
-    /**
-     * Convert Product entity to ProductDTO.
-     *
-     * @param product the product entity
-     * @return product DTO
-     */
-    private ProductDTO convertToDTO(Product product) {
-        String categoryName = null;
-        if (product.getCategoryId() != null) {
-            categoryName = categoryRepository.findById(product.getCategoryId())
-                    .map(Category::getName)
-                    .orElse(null);
-        }
-
-        return ProductDTO.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .stockQuantity(product.getStockQuantity())
-                .categoryId(product.getCategoryId())
-                .categoryName(categoryName)
-                .imageUrl(product.getImageUrl())
-                .sku(product.getSku())
-                .isActive(product.getIsActive())
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
-                .build();
-    }
-
-    /**
-     * Inner class for Product Specifications used in dynamic queries.
-     */
-    private static class ProductSpecifications {
-
-        public static Specification<Product> nameContains(String keyword) {
-            return (root, query, criteriaBuilder) ->
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("name")),
-                            "%" + keyword.toLowerCase() + "%");
-        }
-
-        public static Specification<Product> hasCategoryId(Long categoryId) {
-            return (root, query, criteriaBuilder) ->
-                    criteriaBuilder.equal(root.get("categoryId"), categoryId);
-        }
-
-        public static Specification<Product> priceGreaterThanOrEqual(BigDecimal minPrice) {
-            return (root, query, criteriaBuilder) ->
-                    criteriaBuilder.greaterThanOrEqualTo(root.get("price"), minPrice);
-        }
-
-        public static Specification<Product> priceLessThanOrEqual(BigDecimal maxPrice) {
-            return (root, query, criteriaBuilder) ->
-                    criteriaBuilder.lessThanOrEqualTo(root.get("price"), maxPrice);
-        }
-
-        public static Specification<Product> isInStock() {
-            return (root, query, criteriaBuilder) ->
-                    criteriaBuilder.greaterThan(root.get("stockQuantity"), 0);
-        }
-
-        public static Specification<Product> isActive() {
-            return (root, query, criteriaBuilder) ->
-                    criteriaBuilder.equal(root.get("isActive"), true);
+        Product deactivatedProduct = productRepository.saveAndFlush(product);
+        productChangeFeedService.recordChange(deactivatedProduct, ProductChangeType.DEACTIVATED);
+        if (wasActive) {
+            categoryHierarchyService.adjustProductCount(deactivatedProduct.getCategoryId(), -1);
         }
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id)));
+        log.info("Product soft deleted successfully with id: {}", id);
     }
 }
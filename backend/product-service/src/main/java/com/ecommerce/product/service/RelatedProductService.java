@@ -0,0 +1,451 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductDTO;
+import com.ecommerce.product.dto.RelatedProductDTO;
+import com.ecommerce.product.entity.InventoryHold;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.ranking.SpaceSavingSketch;
+import com.ecommerce.product.repository.InventoryHoldRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class for frequently-bought-together recommendations.
+ * Keeps a sparse product co-occurrence matrix in memory: one {@link SpaceSavingSketch} row per product,
+ * counting the orders in which each other product was bought with it, so every row stays bounded no
+ * matter how many products it co-occurs with. The baskets are the committed inventory holds of one
+ * reference (an order), read from the holds table in commit order, as numbered by the
+ * {@link CommitSequencer}, and added incrementally.
+ *
+ * <p>A full recomputation runs nightly and at startup. It streams the holds of the lookback period
+ * once and routes every basket to the partitions of its anchor products, each owned by one worker of a
+ * pool, so each partition is counted and pruned to its top neighbours independently. The new matrix is
+ * swapped in atomically and the incremental feed resumes from the sequence the recomputation covered.</p>
+ *
+ * @author E-Commerce Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class RelatedProductService {
+
+    /** Baskets routed to the partitions before the workers count them. */
+    private static final int CHUNK_SIZE = 10_000;
+
+    private static final String BASKETS_SQL =
+            "SELECT reference_id, product_id FROM inventory_holds " +
+            "WHERE commit_sequence BETWEEN :first AND :last ORDER BY commit_sequence";
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final ProductService productService;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final int partitions;
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+
+    private final Map<Long, SpaceSavingSketch> rows = new HashMap<>();
+    private final Map<Long, List<SpaceSavingSketch.Entry>> related = new ConcurrentHashMap<>();
+    private long cursor;
+    private boolean ready;
+
+    @Value("${product.related.neighbours:20}")
+    private int neighbours;
+
+    @Value("${product.related.candidates:40}")
+    private int candidates;
+
+    @Value("${product.related.max-basket-size:50}")
+    private int maxBasketSize;
+
+    @Value("${product.related.lookback:P90D}")
+    private Duration lookback;
+
+    @Value("${product.related.poll-batch-size:1000}")
+    private int pollBatchSize;
+
+    @Value("${product.related.poll-max-batches:10}")
+    private int pollMaxBatches;
+
+    public RelatedProductService(InventoryHoldRepository inventoryHoldRepository,
+                                 ProductService productService,
+                                 DataSource dataSource,
+                                 @Value("${product.related.recompute-threads:0}") int threads) {
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.productService = productService;
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // Row-by-row streaming, so the baskets of the lookback period are never buffered by the driver
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // One partition per worker; the baskets are read once and every worker counts its own anchors
+        this.partitions = poolSize;
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "related-products-recompute");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "related-products-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the products most often bought together with a product.
+     *
+     * @param productId the product ID
+     * @param limit maximum number of products
+     * @return related active products, most frequent first
+     */
+    public List<RelatedProductDTO> getRelatedProducts(Long productId, int limit) {
+        productService.getProductById(productId);
+
+        int size = Math.max(1, Math.min(limit, neighbours));
+        List<RelatedProductDTO> result = new ArrayList<>(size);
+        for (SpaceSavingSketch.Entry entry : related.getOrDefault(productId, List.of())) {
+            if (result.size() == size) {
+                break;
+            }
+            ProductDTO product;
+            try {
+                product = productService.getProductById(entry.getItem());
+            } catch (ResourceNotFoundException ex) {
+                continue;
+            }
+            if (!Boolean.TRUE.equals(product.getIsActive())) {
+                continue;
+            }
+            result.add(RelatedProductDTO.builder()
+                    .productId(entry.getItem())
+                    .coPurchaseCount(entry.getCount())
+                    .product(product)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Add the baskets of newly committed holds to the matrix.
+     * Does nothing until the first full recomputation has been swapped in.
+     */
+    @Scheduled(fixedDelayString = "${product.related.poll-interval:PT10S}")
+    public synchronized void poll() {
+        if (!ready) {
+            return;
+        }
+        Set<Long> changed = new LinkedHashSet<>();
+        for (int i = 0; i < pollMaxBatches; i++) {
+            List<InventoryHold> holds = inventoryHoldRepository.findByCommitSequenceGreaterThanOrderByCommitSequenceAsc(
+                    cursor, PageRequest.of(0, pollBatchSize));
+            boolean full = holds.size() == pollBatchSize;
+            holds = completeBaskets(holds, full);
+            if (holds.isEmpty()) {
+                break;
+            }
+
+            Map<String, Set<Long>> baskets = new LinkedHashMap<>();
+            for (InventoryHold hold : holds) {
+                baskets.computeIfAbsent(hold.getReferenceId(), ref -> new LinkedHashSet<>()).add(hold.getProductId());
+            }
+            for (Set<Long> basket : baskets.values()) {
+                addBasket(basket, changed);
+            }
+            cursor = holds.get(holds.size() - 1).getCommitSequence();
+            if (!full) {
+                break;
+            }
+        }
+        for (Long productId : changed) {
+            related.put(productId, rows.get(productId).top(neighbours));
+        }
+        if (!changed.isEmpty()) {
+            log.debug("Updated related products of {} products", changed.size());
+        }
+    }
+
+    /**
+     * Rebuild the matrix once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRecompute();
+    }
+
+    /**
+     * Start the nightly full recomputation in the background.
+     */
+    @Scheduled(cron = "${product.related.recompute-cron:0 0 3 * * *}")
+    public void scheduleRecompute() {
+        if (!recomputing.compareAndSet(false, true)) {
+            log.warn("Related products recomputation is still running, skipping");
+            return;
+        }
+        coordinator.execute(() -> {
+            try {
+                recompute();
+            } catch (Exception ex) {
+                log.error("Related products recomputation failed: {}", ex.getMessage(), ex);
+            } finally {
+                recomputing.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Rebuild the matrix from all baskets of the lookback period up to the latest sequenced commit.
+     */
+    private void recompute() throws InterruptedException, ExecutionException {
+        long started = System.currentTimeMillis();
+        Long last = inventoryHoldRepository.findMaxCommitSequence();
+        Long first = inventoryHoldRepository.findFirstCommitSequenceSince(LocalDateTime.now().minus(lookback));
+        long end = last != null ? last : 0L;
+
+        PartitionedCounts counts = new PartitionedCounts();
+        if (first != null) {
+            streamBaskets(first, end, counts);
+        }
+        counts.finish();
+        Map<Long, SpaceSavingSketch> rebuilt = new HashMap<>();
+        for (Future<Map<Long, SpaceSavingSketch>> future : workers.invokeAll(counts.pruneTasks())) {
+            rebuilt.putAll(future.get());
+        }
+
+        synchronized (this) {
+            rows.clear();
+            rows.putAll(rebuilt);
+            related.clear();
+            rows.forEach((productId, row) -> related.put(productId, row.top(neighbours)));
+            // Commits after the covered sequence are replayed by the incremental feed
+            cursor = end;
+            ready = true;
+        }
+        log.info("Related products recomputed from {} baskets for {} products in {} ms",
+                counts.baskets, rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Stream the holds of a commit sequence range once and hand every basket to the partitioned counts.
+     * The sequencer numbers the holds of one reference consecutively, so a basket is complete once the
+     * reference changes.
+     */
+    private void streamBaskets(long first, long last, PartitionedCounts counts) {
+        Set<Long> open = new LinkedHashSet<>();
+        String[] openReference = new String[1];
+        streamingJdbcTemplate.query(BASKETS_SQL, new MapSqlParameterSource()
+                        .addValue("first", first)
+                        .addValue("last", last),
+                rs -> {
+                    String reference = rs.getString("reference_id");
+                    if (!reference.equals(openReference[0])) {
+                        closeBasket(open, counts);
+                        openReference[0] = reference;
+                    }
+                    open.add(rs.getLong("product_id"));
+                });
+        closeBasket(open, counts);
+    }
+
+    private void closeBasket(Set<Long> open, PartitionedCounts counts) {
+        if (open.size() >= 2 && open.size() <= maxBasketSize) {
+            counts.add(open.stream().mapToLong(Long::longValue).toArray());
+        }
+        open.clear();
+    }
+
+    /**
+     * Add the pairs of one basket to the matrix.
+     * Oversized baskets are skipped, as their pairs grow quadratically and say little about affinity.
+     */
+    private void addBasket(Set<Long> basket, Set<Long> changed) {
+        if (basket.size() < 2 || basket.size() > maxBasketSize) {
+            return;
+        }
+        for (Long anchor : basket) {
+            SpaceSavingSketch row = rows.computeIfAbsent(anchor, id -> new SpaceSavingSketch(candidates));
+            for (Long other : basket) {
+                if (!other.equals(anchor)) {
+                    row.offer(other, 1);
+                }
+            }
+            changed.add(anchor);
+        }
+    }
+
+    /**
+     * Drop trailing holds from a full page, so a basket is never split across two polls.
+     * The holds of one reference are numbered consecutively, so the page's last reference is left for
+     * the next poll, unless the whole page belongs to it.
+     */
+    private static List<InventoryHold> completeBaskets(List<InventoryHold> holds, boolean full) {
+        if (!full) {
+            return holds;
+        }
+        String lastReference = holds.get(holds.size() - 1).getReferenceId();
+        int end = holds.size();
+        while (end > 0 && holds.get(end - 1).getReferenceId().equals(lastReference)) {
+            end--;
+        }
+        return end == 0 ? holds : holds.subList(0, end);
+    }
+
+    /**
+     * Keep the top candidates of every anchor of one partition.
+     */
+    private Map<Long, SpaceSavingSketch> prune(Map<Long, Map<Long, Long>> counts) {
+        Map<Long, SpaceSavingSketch> pruned = new HashMap<>(counts.size());
+        counts.forEach((anchor, row) -> {
+            List<SpaceSavingSketch.Entry> entries = new ArrayList<>(row.size());
+            row.forEach((other, count) -> entries.add(new SpaceSavingSketch.Entry(other, count, 0)));
+            entries.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+            pruned.put(anchor, SpaceSavingSketch.restore(candidates, entries));
+        });
+        return pruned;
+    }
+
+    private int partitionOf(long anchor) {
+        return Math.floorMod(Long.hashCode(anchor), partitions);
+    }
+
+    /**
+     * Exact co-occurrence counts of a recomputation, partitioned by anchor product.
+     * Streamed baskets are routed to the partitions of their anchors and counted chunk by chunk, each
+     * partition by one worker at a time, while the next chunk is being read.
+     */
+    private final class PartitionedCounts {
+        private final List<Map<Long, Map<Long, Long>>> counts = new ArrayList<>(partitions);
+        private List<List<long[]>> routed = newChunk();
+        private List<Future<?>> counting = List.of();
+        private int chunked;
+        private long baskets;
+
+        private PartitionedCounts() {
+            for (int i = 0; i < partitions; i++) {
+                counts.add(new HashMap<>());
+            }
+        }
+
+        private void add(long[] basket) {
+            boolean[] seen = new boolean[partitions];
+            for (long anchor : basket) {
+                int partition = partitionOf(anchor);
+                if (!seen[partition]) {
+                    seen[partition] = true;
+                    routed.get(partition).add(basket);
+                }
+            }
+            baskets++;
+            if (++chunked == CHUNK_SIZE) {
+                dispatch();
+            }
+        }
+
+        /**
+         * Wait for the previous chunk, then hand the routed baskets to the workers.
+         */
+        private void dispatch() {
+            await();
+            List<List<long[]>> chunk = routed;
+            List<Future<?>> submitted = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                int partition = i;
+                if (!chunk.get(partition).isEmpty()) {
+                    submitted.add(workers.submit(() -> count(partition, chunk.get(partition))));
+                }
+            }
+            counting = submitted;
+            routed = newChunk();
+            chunked = 0;
+        }
+
+        private void finish() {
+            dispatch();
+            await();
+        }
+
+        private void count(int partition, List<long[]> chunk) {
+            Map<Long, Map<Long, Long>> partitionCounts = counts.get(partition);
+            for (long[] basket : chunk) {
+                for (long anchor : basket) {
+                    if (partitionOf(anchor) != partition) {
+                        continue;
+                    }
+                    Map<Long, Long> row = partitionCounts.computeIfAbsent(anchor, id -> new HashMap<>());
+                    for (long other : basket) {
+                        if (other != anchor) {
+                            row.merge(other, 1L, Long::sum);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Tasks keeping the top candidates of every anchor, one per partition.
+         */
+        private List<Callable<Map<Long, SpaceSavingSketch>>> pruneTasks() {
+            List<Callable<Map<Long, SpaceSavingSketch>>> tasks = new ArrayList<>(partitions);
+            for (Map<Long, Map<Long, Long>> partitionCounts : counts) {
+                tasks.add(() -> prune(partitionCounts));
+            }
+            return tasks;
+        }
+
+        private void await() {
+            try {
+                for (Future<?> future : counting) {
+                    future.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while counting related products", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Failed to count related products", ex.getCause());
+            }
+        }
+
+        private List<List<long[]>> newChunk() {
+            List<List<long[]>> chunk = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                chunk.add(new ArrayList<>());
+            }
+            return chunk;
+        }
+    }
+}